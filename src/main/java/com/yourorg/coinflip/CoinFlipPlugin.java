@@ -6,8 +6,11 @@ import com.yourorg.coinflip.config.CoinFlipConfig;
 import com.yourorg.coinflip.economy.EconomyService;
 import com.yourorg.coinflip.game.GameService;
 import com.yourorg.coinflip.gui.GuiService;
+import com.yourorg.coinflip.history.HistoryService;
 import com.yourorg.coinflip.messages.MessageService;
+import com.yourorg.coinflip.profile.ProfileService;
 import com.yourorg.coinflip.stats.StatsService;
+import com.yourorg.coinflip.storage.SqliteDatabase;
 import com.yourorg.coinflip.util.GeyserUtil;
 import net.kyori.adventure.platform.bukkit.BukkitAudiences;
 import org.bukkit.Bukkit;
@@ -26,7 +29,10 @@ public final class CoinFlipPlugin extends JavaPlugin {
     private ConfigService configService;
     private MessageService messageService;
     private EconomyService economyService;
+    private SqliteDatabase database;
     private StatsService statsService;
+    private HistoryService historyService;
+    private ProfileService profileService;
     private GameService gameService;
     private GuiService guiService;
     private CoinFlipCommand commandExecutor;
@@ -47,7 +53,10 @@ public final class CoinFlipPlugin extends JavaPlugin {
         this.audiences = BukkitAudiences.create(this);
         this.configService = new ConfigService(this);
         this.config = configService.load();
+        this.database = new SqliteDatabase(this);
+        database.open();
         this.messageService = new MessageService(this);
+        messageService.start();
         this.economyService = new EconomyService(this);
         if (!economyService.setupEconomy()) {
             getLogger().severe("Vault dependency was not found or no economy provider detected. Disabling plugin.");
@@ -57,6 +66,10 @@ public final class CoinFlipPlugin extends JavaPlugin {
 
         this.statsService = new StatsService(this);
         statsService.init();
+        this.historyService = new HistoryService(this);
+        historyService.init();
+        this.profileService = new ProfileService(this);
+        profileService.init();
 
         this.geyserUtil = new GeyserUtil(this);
         this.gameService = new GameService(this);
@@ -80,9 +93,24 @@ public final class CoinFlipPlugin extends JavaPlugin {
         if (gameService != null) {
             gameService.shutdown();
         }
+        if (economyService != null) {
+            economyService.shutdown();
+        }
         if (statsService != null) {
             statsService.shutdown();
         }
+        if (historyService != null) {
+            historyService.shutdown();
+        }
+        if (profileService != null) {
+            profileService.shutdown();
+        }
+        if (database != null) {
+            database.close();
+        }
+        if (messageService != null) {
+            messageService.shutdown();
+        }
         if (audiences != null) {
             audiences.close();
             audiences = null;
@@ -130,10 +158,22 @@ public final class CoinFlipPlugin extends JavaPlugin {
         return economyService;
     }
 
+    public SqliteDatabase database() {
+        return database;
+    }
+
     public StatsService statsService() {
         return statsService;
     }
 
+    public HistoryService historyService() {
+        return historyService;
+    }
+
+    public ProfileService profileService() {
+        return profileService;
+    }
+
     public GameService gameService() {
         return gameService;
     }
@@ -2,18 +2,31 @@ package com.yourorg.coinflip.command;
 
 import com.yourorg.coinflip.CoinFlipPlugin;
 import com.yourorg.coinflip.config.CoinFlipConfig;
+import com.yourorg.coinflip.economy.CircuitBreaker;
+import com.yourorg.coinflip.economy.CreditOutbox;
+import com.yourorg.coinflip.economy.EconomyService;
+import com.yourorg.coinflip.economy.EscrowLedger;
+import com.yourorg.coinflip.economy.LatencyHistogram;
+import com.yourorg.coinflip.economy.VaultMonitor;
 import com.yourorg.coinflip.game.CoinFlipGame;
 import com.yourorg.coinflip.game.GameService;
+import com.yourorg.coinflip.history.GameRecord;
+import com.yourorg.coinflip.history.HistoryPage;
 import com.yourorg.coinflip.messages.MessageService;
+import com.yourorg.coinflip.profile.CachedProfile;
+import com.yourorg.coinflip.stats.LeaderboardEntry;
+import com.yourorg.coinflip.stats.LeaderboardMetric;
 import com.yourorg.coinflip.stats.PlayerStats;
 import com.yourorg.coinflip.util.BetUtil;
 import com.yourorg.coinflip.util.HelpUtil;
+import com.yourorg.coinflip.util.Money;
+import com.yourorg.coinflip.util.TimeUtil;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.JoinConfiguration;
+import net.kyori.adventure.text.event.ClickEvent;
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
 import org.bukkit.Bukkit;
-import org.bukkit.OfflinePlayer;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
@@ -24,12 +37,21 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public final class CoinFlipCommand implements CommandExecutor, TabCompleter {
 
+    private static final int TOP_PAGE_SIZE = 10;
+    private static final int HISTORY_PAGE_SIZE = 10;
+    private static final int OUTBOX_PAGE_SIZE = 10;
+    private static final int MAX_PLAYER_SUGGESTIONS = 100;
+
     private final CoinFlipPlugin plugin;
     private final GameService gameService;
     private final MessageService messages;
@@ -67,7 +89,9 @@ public final class CoinFlipCommand implements CommandExecutor, TabCompleter {
                     return true;
                 }
                 plugin.setConfig(plugin.configService().reload());
+                plugin.economyService().reload();
                 plugin.messageService().reload();
+                plugin.guiService().reload();
                 messages.send(sender, "reloaded");
                 return true;
             }
@@ -88,20 +112,14 @@ public final class CoinFlipCommand implements CommandExecutor, TabCompleter {
                     messages.send(sender, "no-permission");
                     return true;
                 }
-                String targetName = args[1];
-                OfflinePlayer target = Bukkit.getOfflinePlayer(targetName);
-                if (target == null || target.getUniqueId() == null) {
-                    messages.send(sender, "not-found");
-                    return true;
-                }
-                gameService.findByCreator(target.getUniqueId()).ifPresentOrElse(
+                withTarget(sender, args[1], target -> gameService.findByCreator(target.playerId()).ifPresentOrElse(
                         game -> {
                             gameService.forceCancel(game);
                             messages.send(sender, "canceled",
-                                    Placeholder.parsed("amount", plugin.economyService().formatNumber(game.amount())));
+                                    Placeholder.parsed("amount", plugin.economyService().formatMoney(game.amountMinor())));
                         },
                         () -> messages.send(sender, "not-found")
-                );
+                ));
                 return true;
             }
             case "stats" -> {
@@ -112,6 +130,50 @@ public final class CoinFlipCommand implements CommandExecutor, TabCompleter {
                 handleStats(sender, Arrays.copyOfRange(args, 1, args.length));
                 return true;
             }
+            case "toggle" -> {
+                if (!(sender instanceof Player player)) {
+                    sender.sendMessage("Player only command.");
+                    return true;
+                }
+                if (!player.hasPermission("coinflip.use")) {
+                    messages.send(player, "no-permission");
+                    return true;
+                }
+                messages.send(player, messages.toggleAnnouncements(player) ? "announcements-on" : "announcements-off");
+                return true;
+            }
+            case "history" -> {
+                if (!sender.hasPermission("coinflip.use")) {
+                    messages.send(sender, "no-permission");
+                    return true;
+                }
+                handleHistory(sender, Arrays.copyOfRange(args, 1, args.length));
+                return true;
+            }
+            case "top" -> {
+                if (!sender.hasPermission("coinflip.use")) {
+                    messages.send(sender, "no-permission");
+                    return true;
+                }
+                handleTop(sender, Arrays.copyOfRange(args, 1, args.length));
+                return true;
+            }
+            case "outbox" -> {
+                if (!hasAdmin(sender)) {
+                    messages.send(sender, "no-permission");
+                    return true;
+                }
+                handleOutbox(sender, Arrays.copyOfRange(args, 1, args.length));
+                return true;
+            }
+            case "debug" -> {
+                if (!hasAdmin(sender)) {
+                    messages.send(sender, "no-permission");
+                    return true;
+                }
+                handleDebug(sender, Arrays.copyOfRange(args, 1, args.length));
+                return true;
+            }
             default -> {
                 // Determine if numeric amount
                 if (isNumeric(args[0])) {
@@ -144,7 +206,7 @@ public final class CoinFlipCommand implements CommandExecutor, TabCompleter {
     }
 
     private boolean handleAmountSubcommand(Player player, String[] args) {
-        double amount;
+        long amount;
         CoinFlipConfig.EconomySettings economy = plugin.config().economy();
         boolean bypass = player.hasPermission("coinflip.bypass.minmax");
         try {
@@ -155,10 +217,7 @@ public final class CoinFlipCommand implements CommandExecutor, TabCompleter {
         }
 
         if (args.length == 1) {
-            if (!checkFundsAndLimits(player, amount, economy, bypass)) {
-                return true;
-            }
-            plugin.guiService().openCreateConfirm(player, amount);
+            checkFundsAndLimits(player, amount, economy, bypass, () -> plugin.guiService().openCreateConfirm(player, amount));
             return true;
         }
 
@@ -177,10 +236,11 @@ public final class CoinFlipCommand implements CommandExecutor, TabCompleter {
                 messages.send(player, "self-accept");
                 return true;
             }
-            if (!checkFundsAndLimits(player, amount, economy, bypass)) {
-                return true;
-            }
-            gameService.createPrivateGame(player, target, amount);
+            checkFundsAndLimits(player, amount, economy, bypass, () -> {
+                if (target.isOnline()) {
+                    gameService.createPrivateGame(player, target, amount);
+                }
+            });
             return true;
         }
         return true;
@@ -218,31 +278,27 @@ public final class CoinFlipCommand implements CommandExecutor, TabCompleter {
     }
 
     private void handleStats(CommandSender sender, String[] args) {
-        OfflinePlayer target;
         if (args.length == 0) {
             if (!(sender instanceof Player player)) {
                 sender.sendMessage("Console must specify a player.");
                 return;
             }
-            target = player;
-        } else {
-            target = Bukkit.getOfflinePlayer(args[0]);
-        }
-
-        if (target == null || target.getUniqueId() == null) {
-            messages.send(sender, "not-found");
+            sendStats(sender, player.getUniqueId(), player.getName());
             return;
         }
-        UUID playerId = target.getUniqueId();
+        withTarget(sender, args[0], target -> sendStats(sender, target.playerId(), target.name()));
+    }
+
+    private void sendStats(CommandSender sender, UUID playerId, String targetName) {
         CompletableFuture<PlayerStats> future = plugin.statsService().fetchStats(playerId);
         future.thenAccept(stats -> {
             Component header = Component.text("CoinflipXD Stats for ", NamedTextColor.GOLD)
-                    .append(Component.text(target.getName() != null ? target.getName() : playerId.toString(), NamedTextColor.AQUA));
+                    .append(Component.text(targetName, NamedTextColor.AQUA));
             Component body = Component.join(JoinConfiguration.separator(Component.text(" | ", NamedTextColor.DARK_GRAY)),
                     Component.text("Wins: " + stats.wins(), NamedTextColor.GREEN),
                     Component.text("Losses: " + stats.losses(), NamedTextColor.RED),
-                    Component.text("Total Won: " + plugin.economyService().formatNumber(stats.totalWon()), NamedTextColor.GREEN),
-                    Component.text("Total Lost: " + plugin.economyService().formatNumber(stats.totalLost()), NamedTextColor.RED));
+                    Component.text("Total Won: " + plugin.economyService().formatMoney(stats.totalWonMinor()), NamedTextColor.GREEN),
+                    Component.text("Total Lost: " + plugin.economyService().formatMoney(stats.totalLostMinor()), NamedTextColor.RED));
             plugin.getServer().getScheduler().runTask(plugin, () -> {
                 messages.sender(sender).sendMessage(header);
                 messages.sender(sender).sendMessage(body);
@@ -250,6 +306,300 @@ public final class CoinFlipCommand implements CommandExecutor, TabCompleter {
         });
     }
 
+    private void handleDebug(CommandSender sender, String[] args) {
+        String topic = args.length == 0 ? "" : args[0].toLowerCase();
+        switch (topic) {
+            case "ledger" -> sendLedgerReport(sender);
+            case "economy" -> sendEconomyReport(sender);
+            default -> sender.sendMessage("Usage: /cf debug <ledger|economy>");
+        }
+    }
+
+    private void handleOutbox(CommandSender sender, String[] args) {
+        String action = args.length == 0 ? "list" : args[0].toLowerCase();
+        CreditOutbox outbox = gameService.outbox();
+        switch (action) {
+            case "list" -> outbox.list(OUTBOX_PAGE_SIZE).thenCompose(entries -> plugin.profileService()
+                            .names(entries.stream().map(CreditOutbox.Entry::playerId).toList())
+                            .thenApply(names -> outboxLines(entries, names)))
+                    .whenComplete((lines, ex) -> plugin.getServer().getScheduler().runTask(plugin, () -> {
+                        if (ex != null) {
+                            sender.sendMessage("Failed to read the outbox: " + ex.getMessage());
+                            return;
+                        }
+                        lines.forEach(messages.sender(sender)::sendMessage);
+                    }));
+            case "settle" -> {
+                if (args.length < 2) {
+                    sender.sendMessage("Usage: /cf outbox settle <id|all>");
+                    return;
+                }
+                CompletableFuture<Integer> settled;
+                if ("all".equalsIgnoreCase(args[1])) {
+                    settled = outbox.settleAll();
+                } else {
+                    Long id = parseOutboxId(sender, args[1]);
+                    if (id == null) {
+                        return;
+                    }
+                    settled = outbox.settle(id);
+                }
+                settled.whenComplete((count, ex) -> plugin.getServer().getScheduler().runTask(plugin, () ->
+                        sender.sendMessage(ex != null
+                                ? "Outbox settlement failed: " + ex.getMessage()
+                                : "Settled " + count + " outbox credit" + (count == 1 ? "" : "s") + ".")));
+            }
+            case "dismiss" -> {
+                if (args.length < 2) {
+                    sender.sendMessage("Usage: /cf outbox dismiss <id>");
+                    return;
+                }
+                Long id = parseOutboxId(sender, args[1]);
+                if (id == null) {
+                    return;
+                }
+                outbox.dismiss(id).whenComplete((dismissed, ex) -> plugin.getServer().getScheduler().runTask(plugin, () ->
+                        sender.sendMessage(ex != null
+                                ? "Outbox dismissal failed: " + ex.getMessage()
+                                : dismissed
+                                ? "Dismissed outbox credit #" + id + " without paying it."
+                                : "Outbox credit #" + id + " is not open.")));
+            }
+            default -> sender.sendMessage("Usage: /cf outbox <list|settle|dismiss>");
+        }
+    }
+
+    private List<Component> outboxLines(List<CreditOutbox.Entry> entries, Map<UUID, String> names) {
+        List<Component> lines = new ArrayList<>();
+        lines.add(Component.text("CoinflipXD Credit Outbox", NamedTextColor.GOLD));
+        if (entries.isEmpty()) {
+            lines.add(Component.text("Nothing is waiting.", NamedTextColor.GREEN));
+            return lines;
+        }
+        long now = System.currentTimeMillis();
+        for (CreditOutbox.Entry entry : entries) {
+            String status = entry.state() == CreditOutbox.State.CLAIMED
+                    ? "interrupted mid-deposit, check before settling"
+                    : "retry in " + TimeUtil.formatSecondsRemaining(entry.nextAttemptAtMillis() - now);
+            lines.add(Component.text("#" + entry.id() + " ", NamedTextColor.GRAY)
+                    .append(Component.text(plugin.economyService().formatMoney(entry.amountMinor()), NamedTextColor.YELLOW))
+                    .append(Component.text(" to " + names.getOrDefault(entry.playerId(), entry.playerId().toString())
+                            + " | " + entry.attempts() + " attempts | " + status
+                            + (entry.lastError() != null ? " | " + entry.lastError() : ""), NamedTextColor.GRAY)));
+        }
+        return lines;
+    }
+
+    private Long parseOutboxId(CommandSender sender, String input) {
+        try {
+            return Long.parseLong(input.startsWith("#") ? input.substring(1) : input);
+        } catch (NumberFormatException ex) {
+            sender.sendMessage("Not an outbox id: " + input);
+            return null;
+        }
+    }
+
+    private void sendLedgerReport(CommandSender sender) {
+        EconomyService economy = plugin.economyService();
+        EscrowLedger.Snapshot ledger = economy.ledger().snapshot();
+        long inactive = ledger.openGames().stream().filter(id -> gameService.findById(id).isEmpty()).count();
+        long withdrawn = economy.withdrawnTotal();
+        long deposited = economy.depositedTotal();
+        List<Component> lines = List.of(
+                Component.text("CoinflipXD Escrow Ledger", NamedTextColor.GOLD),
+                Component.text("Staked: " + economy.formatMoney(ledger.total(EscrowLedger.Flow.STAKE))
+                        + " | Recovered: " + economy.formatMoney(ledger.total(EscrowLedger.Flow.RECOVERED)), NamedTextColor.YELLOW),
+                Component.text("Paid out: " + economy.formatMoney(ledger.total(EscrowLedger.Flow.PAYOUT))
+                        + " | Refunded: " + economy.formatMoney(ledger.total(EscrowLedger.Flow.REFUND))
+                        + " | Written off: " + economy.formatMoney(ledger.total(EscrowLedger.Flow.WRITTEN_OFF)), NamedTextColor.YELLOW),
+                Component.text("Tax: " + economy.formatMoney(ledger.total(EscrowLedger.Flow.TAX))
+                        + " | Paid: " + economy.formatMoney(ledger.total(EscrowLedger.Flow.TAX_PAID))
+                        + " | Removed: " + economy.formatMoney(ledger.total(EscrowLedger.Flow.TAX_BURNED))
+                        + " | Pending: " + economy.formatMoney(ledger.balance(EscrowLedger.Account.TAX_ACCRUED)), NamedTextColor.YELLOW),
+                Component.text("Escrow: " + economy.formatMoney(ledger.balance(EscrowLedger.Account.ESCROW))
+                        + " across " + ledger.openGames().size() + " games (" + inactive + " no longer active, "
+                        + ledger.closedGames() + " closed)", inactive == 0 ? NamedTextColor.YELLOW : NamedTextColor.RED),
+                reconcileLine("Withdrawn", ledger.walletDebits(), withdrawn),
+                reconcileLine("Deposited", ledger.walletCredits(), deposited),
+                Component.text(ledger.balanced() ? "Ledger balanced" : "Ledger out of balance",
+                        ledger.balanced() ? NamedTextColor.GREEN : NamedTextColor.RED));
+        lines.forEach(messages.sender(sender)::sendMessage);
+    }
+
+    private void sendEconomyReport(CommandSender sender) {
+        VaultMonitor monitor = plugin.economyService().monitor();
+        long now = System.currentTimeMillis();
+        CircuitBreaker breaker = monitor.breaker();
+        CircuitBreaker.State state = breaker.state(now);
+        List<Component> lines = new ArrayList<>();
+        lines.add(Component.text("CoinflipXD Economy", NamedTextColor.GOLD));
+        String breakerLine = "Breaker: " + state
+                + (state == CircuitBreaker.State.OPEN ? " for " + TimeUtil.formatSecondsRemaining(breaker.remainingOpenMillis(now)) : "")
+                + " | Failures in a row: " + breaker.consecutiveFailures()
+                + " | Trips: " + breaker.trips()
+                + " | Queued: " + monitor.queued();
+        lines.add(Component.text(breakerLine, state == CircuitBreaker.State.CLOSED ? NamedTextColor.GREEN : NamedTextColor.RED));
+        VaultMonitor.Operation running = monitor.running();
+        if (running != null) {
+            lines.add(Component.text("Running: " + running.name().toLowerCase() + " for " + monitor.runningMillis() + "ms",
+                    NamedTextColor.YELLOW));
+        }
+        for (VaultMonitor.Operation operation : VaultMonitor.Operation.values()) {
+            LatencyHistogram latency = monitor.latency(operation);
+            lines.add(Component.text(operation.name().toLowerCase() + ": " + latency.count() + " calls"
+                    + " | mean " + millis(latency.meanMicros())
+                    + " | p50 " + millis(latency.percentileMicros(50D))
+                    + " | p99 " + millis(latency.percentileMicros(99D))
+                    + " | max " + millis(latency.maxMicros())
+                    + " | slow " + monitor.slowCalls(operation)
+                    + " | failed " + monitor.failures(operation), NamedTextColor.YELLOW));
+        }
+        lines.forEach(messages.sender(sender)::sendMessage);
+    }
+
+    private static String millis(long micros) {
+        return String.format(Locale.ROOT, "%.1fms", micros / 1000D);
+    }
+
+    private Component reconcileLine(String label, long ledgerAmount, long vaultAmount) {
+        boolean matches = ledgerAmount == vaultAmount;
+        return Component.text(label + ": ledger " + plugin.economyService().formatMoney(ledgerAmount)
+                        + " | Vault " + plugin.economyService().formatMoney(vaultAmount) + (matches ? "" : " (mismatch)"),
+                matches ? NamedTextColor.GREEN : NamedTextColor.RED);
+    }
+
+    // Name lookups may hit the profile table or Mojang, so the action runs on a later tick.
+    private void withTarget(CommandSender sender, String name, Consumer<CachedProfile> action) {
+        plugin.profileService().resolve(name).whenComplete((profile, ex) ->
+                plugin.getServer().getScheduler().runTask(plugin, () -> {
+                    if (profile == null) {
+                        messages.send(sender, "not-found");
+                        return;
+                    }
+                    action.accept(profile);
+                }));
+    }
+
+    private void handleHistory(CommandSender sender, String[] args) {
+        Player self = null;
+        int cursorIndex = 0;
+        if (args.length == 0 || isCursor(args[0])) {
+            if (!(sender instanceof Player player)) {
+                sender.sendMessage("Console must specify a player.");
+                return;
+            }
+            self = player;
+        } else {
+            cursorIndex = 1;
+        }
+        long cursor = HistoryPage.NO_CURSOR;
+        if (args.length > cursorIndex) {
+            if (!isCursor(args[cursorIndex])) {
+                sender.sendMessage("Usage: /cf history [player] [cursor]");
+                return;
+            }
+            cursor = Long.parseLong(args[cursorIndex]);
+        }
+
+        long pageCursor = cursor;
+        if (self != null) {
+            sendHistory(sender, self.getUniqueId(), self.getName(), pageCursor);
+            return;
+        }
+        withTarget(sender, args[0], target -> sendHistory(sender, target.playerId(), target.name(), pageCursor));
+    }
+
+    private void sendHistory(CommandSender sender, UUID playerId, String targetName, long cursor) {
+        plugin.historyService().page(playerId, cursor, HISTORY_PAGE_SIZE).thenCompose(page -> {
+            List<UUID> opponents = page.records().stream().map(record -> record.opponentOf(playerId)).toList();
+            return plugin.profileService().names(opponents).thenAccept(names -> sendHistoryPage(sender, playerId, targetName, page, names));
+        }).exceptionally(ex -> {
+            plugin.getLogger().severe("Failed to load game history: " + ex.getMessage());
+            return null;
+        });
+    }
+
+    private void sendHistoryPage(CommandSender sender, UUID playerId, String targetName, HistoryPage page, Map<UUID, String> names) {
+        List<Component> lines = new ArrayList<>();
+        lines.add(Component.text("CoinflipXD History for ", NamedTextColor.GOLD)
+                .append(Component.text(targetName, NamedTextColor.AQUA)));
+        if (page.records().isEmpty()) {
+            lines.add(Component.text("No games found.", NamedTextColor.GRAY));
+        }
+        long now = System.currentTimeMillis();
+        for (GameRecord record : page.records()) {
+            boolean won = record.wonBy(playerId);
+            String opponent = names.getOrDefault(record.opponentOf(playerId), "Unknown");
+            lines.add(Component.text(won ? "WON " : "LOST ", won ? NamedTextColor.GREEN : NamedTextColor.RED)
+                    .append(Component.text(plugin.economyService().formatMoney(record.amountMinor()), NamedTextColor.YELLOW))
+                    .append(Component.text(" vs " + opponent, NamedTextColor.WHITE))
+                    .append(Component.text(" (" + TimeUtil.formatAgo(now - record.resolvedAtMillis()) + ")", NamedTextColor.GRAY)));
+        }
+        if (page.hasMore()) {
+            String next = "/cf history " + targetName + " " + page.nextCursor();
+            lines.add(Component.text("[Next page]", NamedTextColor.AQUA).clickEvent(ClickEvent.runCommand(next)));
+        }
+        plugin.getServer().getScheduler().runTask(plugin, () -> {
+            for (Component line : lines) {
+                messages.sender(sender).sendMessage(line);
+            }
+        });
+    }
+
+    private boolean isCursor(String input) {
+        try {
+            return Long.parseLong(input) > 0L;
+        } catch (NumberFormatException ex) {
+            return false;
+        }
+    }
+
+    private void handleTop(CommandSender sender, String[] args) {
+        LeaderboardMetric metric = LeaderboardMetric.WINS;
+        if (args.length >= 1) {
+            metric = LeaderboardMetric.parse(args[0]);
+            if (metric == null) {
+                sender.sendMessage("Usage: /cf top [wins|profit|wagered] [page]");
+                return;
+            }
+        }
+        int page = 0;
+        if (args.length >= 2) {
+            try {
+                page = Math.max(0, Integer.parseInt(args[1]) - 1);
+            } catch (NumberFormatException ex) {
+                sender.sendMessage("Usage: /cf top [wins|profit|wagered] [page]");
+                return;
+            }
+        }
+
+        if (sender instanceof Player player) {
+            plugin.guiService().openLeaderboard(player, metric, page);
+            return;
+        }
+
+        List<LeaderboardEntry> entries = plugin.statsService().leaderboard(metric, page * TOP_PAGE_SIZE, TOP_PAGE_SIZE);
+        List<Component> lines = new ArrayList<>();
+        lines.add(Component.text("CoinflipXD Top " + metric.displayName() + " (page " + (page + 1) + "):", NamedTextColor.GOLD));
+        if (entries.isEmpty()) {
+            lines.add(Component.text("No ranked players on this page.", NamedTextColor.GRAY));
+        }
+        LeaderboardMetric shown = metric;
+        plugin.profileService().names(entries.stream().map(LeaderboardEntry::playerId).toList()).thenAccept(names -> {
+            for (LeaderboardEntry entry : entries) {
+                String name = names.getOrDefault(entry.playerId(), entry.playerId().toString());
+                lines.add(Component.text("#" + entry.rank() + " ", NamedTextColor.YELLOW)
+                        .append(Component.text(name, NamedTextColor.AQUA))
+                        .append(Component.text(" - " + plugin.guiService().formatLeaderboardValue(shown, entry.value()), NamedTextColor.GREEN)));
+            }
+            plugin.getServer().getScheduler().runTask(plugin, () -> {
+                for (Component line : lines) {
+                    messages.sender(sender).sendMessage(line);
+                }
+            });
+        });
+    }
+
     private void sendInvalidAmount(CommandSender sender) {
         messages.send(sender, "invalid-amount",
                 Placeholder.parsed("min", plugin.economyService().formatNumber(plugin.config().economy().minBet())),
@@ -269,21 +619,42 @@ public final class CoinFlipCommand implements CommandExecutor, TabCompleter {
         });
     }
 
-    private boolean checkFundsAndLimits(Player player, double amount, CoinFlipConfig.EconomySettings economy, boolean bypass) {
-        if (!plugin.economyService().hasBalance(player, amount)) {
-            messages.send(player, "insufficient-funds");
-            return false;
+    // Answers from the balance snapshot; withdrawing the stake re-checks, so this only spares an obviously doomed bet.
+    private void checkFundsAndLimits(Player player, long amount, CoinFlipConfig.EconomySettings economy, boolean bypass,
+                                     Runnable onAllowed) {
+        if (!plugin.economyService().available()) {
+            messages.send(player, "economy-unavailable");
+            return;
         }
-        if (bypass) {
-            return true;
+        CompletableFuture<Double> snapshot = plugin.economyService().balanceSnapshot(player);
+        if (snapshot.isDone() && !snapshot.isCompletedExceptionally()) {
+            applyFundsCheck(player, amount, economy, bypass, snapshot.getNow(Double.NaN), onAllowed);
+            return;
+        }
+        snapshot.whenComplete((balance, ex) -> plugin.getServer().getScheduler().runTask(plugin, () -> {
+            if (player.isOnline()) {
+                applyFundsCheck(player, amount, economy, bypass, ex == null ? balance : Double.NaN, onAllowed);
+            }
+        }));
+    }
+
+    private void applyFundsCheck(Player player, long amount, CoinFlipConfig.EconomySettings economy, boolean bypass,
+                                 double balance, Runnable onAllowed) {
+        if (Double.isNaN(balance)) {
+            // Unknown balance: let the withdrawal decide.
+            onAllowed.run();
+            return;
+        }
+        if (balance < Money.toMajor(amount)) {
+            messages.send(player, "insufficient-funds");
+            return;
         }
-        double balance = plugin.economyService().balance(player);
         double maxAllowed = BetUtil.maxBalanceBet(balance, economy);
-        if (amount <= maxAllowed) {
-            return true;
+        if (!bypass && Money.toMajor(amount) > maxAllowed) {
+            sendBalanceLimit(player, maxAllowed, economy);
+            return;
         }
-        sendBalanceLimit(player, maxAllowed, economy);
-        return false;
+        onAllowed.run();
     }
 
     private void sendBalanceLimit(Player player, double maxAllowed, CoinFlipConfig.EconomySettings economy) {
@@ -307,27 +678,43 @@ public final class CoinFlipCommand implements CommandExecutor, TabCompleter {
             List<String> suggestions = new ArrayList<>();
             suggestions.add("help");
             suggestions.add("stats");
+            suggestions.add("top");
+            suggestions.add("history");
+            suggestions.add("toggle");
             suggestions.add("cancel");
             if (hasAdmin(sender)) {
                 suggestions.add("reload");
+                suggestions.add("outbox");
+                suggestions.add("debug");
             }
+            List<String> filtered = filterSuggestions(suggestions, args[0]);
             if (sender instanceof Player && sender.hasPermission("coinflip.private")) {
-                Bukkit.getOnlinePlayers().stream()
-                        .filter(p -> p != sender)
-                        .forEach(p -> suggestions.add(p.getName()));
+                filtered.addAll(filterPlayerSuggestions(sender, args[0], true));
             }
-            return filterSuggestions(suggestions, args[0]);
+            return filtered;
         }
         if (args.length == 2) {
             if ("cancel".equalsIgnoreCase(args[0]) && hasAdmin(sender)) {
-                return filterPlayerSuggestions(args[1]);
+                return filterPlayerSuggestions(sender, args[1], false);
             }
             if ("stats".equalsIgnoreCase(args[0])) {
-                return filterPlayerSuggestions(args[1]);
+                return filterPlayerSuggestions(sender, args[1], false);
+            }
+            if ("history".equalsIgnoreCase(args[0])) {
+                return filterPlayerSuggestions(sender, args[1], false);
+            }
+            if ("top".equalsIgnoreCase(args[0])) {
+                return filterSuggestions(Arrays.asList("wins", "profit", "wagered"), args[1]);
+            }
+            if ("outbox".equalsIgnoreCase(args[0]) && hasAdmin(sender)) {
+                return filterSuggestions(List.of("list", "settle", "dismiss"), args[1]);
+            }
+            if ("debug".equalsIgnoreCase(args[0]) && hasAdmin(sender)) {
+                return filterSuggestions(List.of("ledger", "economy"), args[1]);
             }
             Player player = sender instanceof Player ? (Player) sender : null;
             if (player != null && player.hasPermission("coinflip.private") && isNumeric(args[0])) {
-                return filterPlayerSuggestions(args[1]);
+                return filterPlayerSuggestions(sender, args[1], true);
             }
             if (player != null && !isNumeric(args[0])) {
                 return filterSuggestions(Arrays.asList("accept", "deny"), args[1]);
@@ -344,7 +731,7 @@ public final class CoinFlipCommand implements CommandExecutor, TabCompleter {
 
     private List<String> filterSuggestions(List<String> suggestions, String current) {
         if (current == null || current.isEmpty()) {
-            return suggestions;
+            return new ArrayList<>(suggestions);
         }
         String lower = current.toLowerCase();
         List<String> filtered = new ArrayList<>();
@@ -356,10 +743,11 @@ public final class CoinFlipCommand implements CommandExecutor, TabCompleter {
         return filtered;
     }
 
-    private List<String> filterPlayerSuggestions(String current) {
-        List<String> suggestions = new ArrayList<>();
-        Bukkit.getOnlinePlayers().forEach(p -> suggestions.add(p.getName()));
-        return filterSuggestions(suggestions, current);
+    // Served from the online-name index; players with an open challenge against the sender come first.
+    private List<String> filterPlayerSuggestions(CommandSender sender, String current, boolean excludeSelf) {
+        UUID self = sender instanceof Player player ? player.getUniqueId() : null;
+        Set<UUID> partners = self != null ? gameService.challengePartners(self) : Set.of();
+        return plugin.profileService().onlineNames().complete(current, excludeSelf ? self : null, partners, MAX_PLAYER_SUGGESTIONS);
     }
 
     private boolean hasAdmin(CommandSender sender) {
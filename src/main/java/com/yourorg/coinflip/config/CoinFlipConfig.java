@@ -8,19 +8,23 @@ public record CoinFlipConfig(
         UiSettings ui,
         LimitSettings limits,
         BroadcastSettings broadcast,
+        StatsSettings stats,
+        FormatSettings format,
+        VaultSettings vault,
+        OutboxSettings outbox,
         boolean miniMessage
 ) {
 
     public record EconomySettings(double minBet, double maxBet, double maxBalancePercent, boolean requireWholeNumbers) {
     }
 
-    public record TaxSettings(boolean enabled, double percent, String recipient) {
+    public record TaxSettings(boolean enabled, double percent, String recipient, int settleIntervalSeconds) {
     }
 
     public record UiSettings(BrowserSettings browser, int expireSeconds, int privateExpireSeconds, UiSounds sounds) {
     }
 
-    public record BrowserSettings(int rows, int itemsPerPage) {
+    public record BrowserSettings(int rows, int itemsPerPage, boolean live) {
     }
 
     public record UiSounds(Sound open, Sound accept, Sound win, Sound lose) {
@@ -29,7 +33,20 @@ public record CoinFlipConfig(
     public record LimitSettings(boolean oneActivePerPlayer) {
     }
 
-    public record BroadcastSettings(boolean enabled, String message) {
+    public record BroadcastSettings(boolean enabled, String message, int spreadPerTick, int coalesceSeconds,
+                                    int rateLimit, int ratePeriodSeconds) {
+    }
+
+    public record StatsSettings(int cacheSize, int leaderboardSize) {
+    }
+
+    public record FormatSettings(boolean grouping, int decimals, boolean compact) {
+    }
+
+    public record VaultSettings(int slowCallMillis, int timeoutMillis, int failureThreshold, int openSeconds, int maxQueued) {
+    }
+
+    public record OutboxSettings(int retrySeconds, int maxRetrySeconds) {
     }
 }
 
@@ -33,17 +33,23 @@ public final class ConfigService {
         CoinFlipConfig.TaxSettings tax = new CoinFlipConfig.TaxSettings(
                 cfg.getBoolean("tax.enabled", true),
                 cfg.getDouble("tax.percent", 10.0D),
-                cfg.getString("tax.recipient", "server")
+                cfg.getString("tax.recipient", "server"),
+                Math.max(1, cfg.getInt("tax.settle-interval-seconds", 60))
         );
 
         CoinFlipConfig.BroadcastSettings broadcast = new CoinFlipConfig.BroadcastSettings(
                 cfg.getBoolean("broadcast.enabled", false),
-                cfg.getString("broadcast.message", "<gray>%player% created a coinflip for <aqua>$%amount%</aqua>.</gray>")
+                cfg.getString("broadcast.message", "<gray>%player% created a coinflip for <aqua>$%amount%</aqua>.</gray>"),
+                Math.max(0, cfg.getInt("broadcast.spread-per-tick", 0)),
+                Math.max(1, cfg.getInt("broadcast.coalesce-seconds", 3)),
+                Math.max(1, cfg.getInt("broadcast.rate-limit.messages", 4)),
+                Math.max(1, cfg.getInt("broadcast.rate-limit.period-seconds", 30))
         );
 
         CoinFlipConfig.BrowserSettings browser = new CoinFlipConfig.BrowserSettings(
                 clampRows(cfg.getInt("ui.browser.rows", 6)),
-                cfg.getInt("ui.browser.items-per-page", 45)
+                cfg.getInt("ui.browser.items-per-page", 45),
+                cfg.getBoolean("ui.browser.live", false)
         );
 
         CoinFlipConfig.UiSounds sounds = new CoinFlipConfig.UiSounds(
@@ -64,9 +70,34 @@ public final class ConfigService {
                 cfg.getBoolean("limits.one-active-per-player", true)
         );
 
+        CoinFlipConfig.StatsSettings stats = new CoinFlipConfig.StatsSettings(
+                Math.max(16, cfg.getInt("stats.cache-size", 1000)),
+                Math.max(1, cfg.getInt("stats.leaderboard-size", 100))
+        );
+
+        CoinFlipConfig.FormatSettings format = new CoinFlipConfig.FormatSettings(
+                cfg.getBoolean("format.grouping", true),
+                Math.max(0, Math.min(4, cfg.getInt("format.decimals", 2))),
+                cfg.getBoolean("format.compact", false)
+        );
+
+        CoinFlipConfig.VaultSettings vault = new CoinFlipConfig.VaultSettings(
+                Math.max(1, cfg.getInt("vault.slow-call-millis", 250)),
+                Math.max(1, cfg.getInt("vault.timeout-millis", 2000)),
+                Math.max(1, cfg.getInt("vault.failure-threshold", 3)),
+                Math.max(1, cfg.getInt("vault.open-seconds", 30)),
+                Math.max(1, cfg.getInt("vault.max-queued", 50))
+        );
+
+        int retrySeconds = Math.max(1, cfg.getInt("outbox.retry-seconds", 30));
+        CoinFlipConfig.OutboxSettings outbox = new CoinFlipConfig.OutboxSettings(
+                retrySeconds,
+                Math.max(retrySeconds, cfg.getInt("outbox.max-retry-minutes", 60) * 60)
+        );
+
         boolean miniMessage = "MINI_MESSAGE".equalsIgnoreCase(cfg.getString("messages-format", "MINI_MESSAGE"));
 
-        CoinFlipConfig configuration = new CoinFlipConfig(economy, tax, ui, limits, broadcast, miniMessage);
+        CoinFlipConfig configuration = new CoinFlipConfig(economy, tax, ui, limits, broadcast, stats, format, vault, outbox, miniMessage);
         plugin.setConfig(configuration);
         return configuration;
     }
@@ -0,0 +1,62 @@
+package com.yourorg.coinflip.economy;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Short-lived balance snapshots. Each invalidation bumps the player's generation, so a read that started before
+// one of our own withdrawals or deposits can never store the balance it saw. Generations come from one shared
+// counter, so a player without a snapshot needs no entry: any invalidation since the read began discards it.
+final class BalanceCache {
+
+    private final long ttlMillis;
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong generations = new AtomicLong();
+
+    BalanceCache(long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+    }
+
+    long generation(UUID playerId) {
+        Entry entry = entries.get(playerId);
+        return entry != null ? entry.generation() : generations.get();
+    }
+
+    void store(UUID playerId, long generation, double balance, long nowMillis) {
+        entries.compute(playerId, (id, entry) -> {
+            long current = entry != null ? entry.generation() : generations.get();
+            return current == generation ? new Entry(balance, nowMillis, generation) : entry;
+        });
+    }
+
+    // NaN when there is no snapshot or it is older than the TTL.
+    double fresh(UUID playerId, long nowMillis) {
+        Entry entry = entries.get(playerId);
+        if (entry == null || Double.isNaN(entry.balance()) || nowMillis - entry.takenAtMillis() >= ttlMillis) {
+            return Double.NaN;
+        }
+        return entry.balance();
+    }
+
+    // Deposits to offline players land here too; they never had a snapshot, so nothing is left behind for them.
+    void invalidate(UUID playerId) {
+        long generation = generations.incrementAndGet();
+        entries.computeIfPresent(playerId, (id, entry) -> new Entry(Double.NaN, 0L, generation));
+    }
+
+    void evict(UUID playerId) {
+        entries.remove(playerId);
+    }
+
+    void clear() {
+        entries.clear();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private record Entry(double balance, long takenAtMillis, long generation) {
+    }
+}
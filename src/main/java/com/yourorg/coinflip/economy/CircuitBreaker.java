@@ -0,0 +1,78 @@
+package com.yourorg.coinflip.economy;
+
+// Opens after a run of consecutive failures and stays open for a cool-down. Afterwards it lets calls through
+// again; the first one to fail reopens it, the first to succeed closes it.
+public final class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private int failureThreshold;
+    private long openMillis;
+
+    private int consecutiveFailures;
+    private long openedAtMillis;
+    private boolean open;
+    private long trips;
+
+    public CircuitBreaker(int failureThreshold, long openMillis) {
+        configure(failureThreshold, openMillis);
+    }
+
+    // Keeps the current state and trip count; an open breaker finishes its cool-down under the new length.
+    public synchronized void configure(int failureThreshold, long openMillis) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openMillis = Math.max(0L, openMillis);
+    }
+
+    public synchronized boolean allows(long nowMillis) {
+        return state(nowMillis) != State.OPEN;
+    }
+
+    public synchronized State state(long nowMillis) {
+        if (!open) {
+            return State.CLOSED;
+        }
+        return nowMillis - openedAtMillis < openMillis ? State.OPEN : State.HALF_OPEN;
+    }
+
+    // A call that started before the breaker opened may still finish fine; only a half-open probe closes it.
+    public synchronized void onSuccess(long nowMillis) {
+        if (state(nowMillis) == State.OPEN) {
+            return;
+        }
+        consecutiveFailures = 0;
+        open = false;
+    }
+
+    public synchronized void onFailure(long nowMillis) {
+        consecutiveFailures++;
+        if (open ? state(nowMillis) == State.HALF_OPEN : consecutiveFailures >= failureThreshold) {
+            trip(nowMillis);
+        }
+    }
+
+    // Used when a call is still running past its deadline; waiting for it to fail would keep the breaker closed.
+    public synchronized void trip(long nowMillis) {
+        if (!open || state(nowMillis) == State.HALF_OPEN) {
+            trips++;
+        }
+        open = true;
+        openedAtMillis = nowMillis;
+    }
+
+    public synchronized int consecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    public synchronized long trips() {
+        return trips;
+    }
+
+    public synchronized long remainingOpenMillis(long nowMillis) {
+        return open ? Math.max(0L, openMillis - (nowMillis - openedAtMillis)) : 0L;
+    }
+}
@@ -0,0 +1,342 @@
+package com.yourorg.coinflip.economy;
+
+import com.yourorg.coinflip.CoinFlipPlugin;
+import com.yourorg.coinflip.config.CoinFlipConfig;
+import com.yourorg.coinflip.storage.SqliteDatabase;
+import com.yourorg.coinflip.util.Money;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+// Credits the economy refused, kept in data.db until a retry lands. The key allows one entry per game and player,
+// so a repeated failure never queues the same refund twice. An entry is claimed before its deposit; a claim left
+// behind by a crash may already have paid, so it waits for an admin instead of being retried.
+public final class CreditOutbox {
+
+    private static final int BATCH_SIZE = 20;
+    private static final long TICK_PERIOD = 100L;
+
+    public enum State {
+        PENDING,
+        CLAIMED,
+        SETTLED,
+        DISMISSED
+    }
+
+    public record Entry(long id, UUID gameId, UUID playerId, long amountMinor, State state, int attempts,
+                        long nextAttemptAtMillis, String lastError) {
+    }
+
+    private static final String TABLE_SQL = """
+            CREATE TABLE IF NOT EXISTS credit_outbox (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                idempotency_key TEXT NOT NULL UNIQUE,
+                game_uuid TEXT NOT NULL,
+                player_uuid TEXT NOT NULL,
+                amount INTEGER NOT NULL,
+                state TEXT NOT NULL,
+                attempts INTEGER NOT NULL DEFAULT 0,
+                next_attempt_at INTEGER NOT NULL,
+                last_error TEXT,
+                created_at INTEGER NOT NULL,
+                settled_at INTEGER
+            )
+            """;
+
+    private static final String INDEX_SQL =
+            "CREATE INDEX IF NOT EXISTS idx_credit_outbox_due ON credit_outbox (state, next_attempt_at)";
+
+    private static final String INSERT_SQL = """
+            INSERT INTO credit_outbox (idempotency_key, game_uuid, player_uuid, amount, state, next_attempt_at, last_error, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT(idempotency_key) DO NOTHING
+            """;
+
+    private static final String COLUMNS = "id, game_uuid, player_uuid, amount, state, attempts, next_attempt_at, last_error";
+
+    private static final String DUE_SQL = "SELECT " + COLUMNS + " FROM credit_outbox"
+            + " WHERE state = 'PENDING' AND next_attempt_at <= ? ORDER BY id LIMIT ?";
+
+    private static final String OPEN_SQL = "SELECT " + COLUMNS + " FROM credit_outbox"
+            + " WHERE state IN ('PENDING', 'CLAIMED') ORDER BY id LIMIT ?";
+
+    private static final String BY_ID_SQL = "SELECT " + COLUMNS + " FROM credit_outbox WHERE id = ?";
+
+    private static final String CLAIM_SQL = "UPDATE credit_outbox SET state = 'CLAIMED', attempts = attempts + 1"
+            + " WHERE id = ? AND state IN ('PENDING', 'CLAIMED')";
+
+    private static final String RETRY_SQL = "UPDATE credit_outbox SET state = 'PENDING', next_attempt_at = ?, last_error = ?"
+            + " WHERE id = ? AND state = 'CLAIMED'";
+
+    private static final String CLOSE_SQL = "UPDATE credit_outbox SET state = ?, settled_at = ?"
+            + " WHERE id = ? AND state IN ('PENDING', 'CLAIMED')";
+
+    private final CoinFlipPlugin plugin;
+    private final SqliteDatabase database;
+    private final EscrowLedger ledger;
+    private final Logger logger;
+    private final Supplier<CoinFlipConfig.OutboxSettings> settings;
+    private final Depositor depositor;
+    private final BooleanSupplier available;
+    private final Executor economyThread;
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    private BukkitTask task;
+
+    public CreditOutbox(CoinFlipPlugin plugin) {
+        this(plugin, plugin.database(), plugin.economyService().ledger(), plugin.getLogger(), () -> plugin.config().outbox(),
+                (playerId, amountMinor) -> plugin.economyService().deposit(Bukkit.getOfflinePlayer(playerId), amountMinor),
+                plugin.economyService()::available, plugin.economyService()::runAsync);
+    }
+
+    // The plugin only schedules the retry timer in start(); tests pass null and call load() instead.
+    CreditOutbox(CoinFlipPlugin plugin, SqliteDatabase database, EscrowLedger ledger, Logger logger,
+                 Supplier<CoinFlipConfig.OutboxSettings> settings, Depositor depositor, BooleanSupplier available,
+                 Executor economyThread) {
+        this.plugin = plugin;
+        this.database = database;
+        this.ledger = ledger;
+        this.logger = logger;
+        this.settings = settings;
+        this.depositor = depositor;
+        this.available = available;
+        this.economyThread = economyThread;
+    }
+
+    public void start() {
+        load();
+        this.task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, TICK_PERIOD, TICK_PERIOD);
+    }
+
+    void load() {
+        try {
+            List<Entry> open = database.write(session -> {
+                session.execute(TABLE_SQL);
+                session.execute(INDEX_SQL);
+                return select(session, OPEN_SQL, statement -> statement.setInt(1, Integer.MAX_VALUE));
+            }).join();
+            long claimed = 0L;
+            for (Entry entry : open) {
+                // The ledger starts empty; outstanding credits are still owed, so they count as escrow again.
+                ledger.record(entry.gameId(), EscrowLedger.Flow.RECOVERED, entry.amountMinor());
+                if (entry.state() == State.CLAIMED) {
+                    claimed++;
+                }
+            }
+            if (!open.isEmpty()) {
+                logger.warning(open.size() + " credits are waiting in the outbox.");
+            }
+            if (claimed > 0L) {
+                logger.warning(claimed + " outbox credits were mid-deposit when the server stopped."
+                        + " Check balances, then use /cf outbox settle or dismiss.");
+            }
+        } catch (CompletionException ex) {
+            logger.severe("Failed to prepare credit outbox: " + ex.getMessage());
+        }
+    }
+
+    public void shutdown() {
+        if (task != null) {
+            task.cancel();
+        }
+    }
+
+    // Economy thread only. Blocks until the entry is stored, so the journal never closes a stake that is still owed.
+    public boolean enqueue(UUID gameId, UUID playerId, long amountMinor, String error) {
+        return insert(gameId, playerId, amountMinor, State.PENDING, error);
+    }
+
+    // For a credit that may already have been paid: stored as claimed, so only an admin settles or dismisses it.
+    public boolean park(UUID gameId, UUID playerId, long amountMinor, String error) {
+        return insert(gameId, playerId, amountMinor, State.CLAIMED, error);
+    }
+
+    private boolean insert(UUID gameId, UUID playerId, long amountMinor, State state, String error) {
+        long now = System.currentTimeMillis();
+        try {
+            int inserted = database.write(session -> {
+                PreparedStatement statement = session.prepare(INSERT_SQL);
+                statement.setString(1, gameId + ":" + playerId);
+                statement.setString(2, gameId.toString());
+                statement.setString(3, playerId.toString());
+                statement.setLong(4, amountMinor);
+                statement.setString(5, state.name());
+                statement.setLong(6, now + backoffMillis(0, settings.get()));
+                statement.setString(7, error);
+                statement.setLong(8, now);
+                return statement.executeUpdate();
+            }).join();
+            if (inserted > 0) {
+                logger.warning((state == State.CLAIMED ? "Parked " : "Queued ") + Money.toMajor(amountMinor) + " for "
+                        + playerId + " (game " + gameId + ") in the credit outbox.");
+            }
+            return true;
+        } catch (CompletionException ex) {
+            logger.severe("Failed to queue " + Money.toMajor(amountMinor) + " owed to " + playerId + " for game "
+                    + gameId + ": " + ex.getMessage());
+            return false;
+        }
+    }
+
+    public CompletableFuture<List<Entry>> list(int limit) {
+        return database.read(session -> select(session, OPEN_SQL, statement -> statement.setInt(1, limit)));
+    }
+
+    // Ignores the backoff; also settles claimed entries, which the worker leaves alone.
+    public CompletableFuture<Integer> settle(long id) {
+        return CompletableFuture.supplyAsync(() -> {
+            List<Entry> found = database.read(session -> select(session, BY_ID_SQL, statement -> statement.setLong(1, id))).join();
+            return found.isEmpty() ? 0 : attempt(found.get(0)) ? 1 : 0;
+        }, economyThread);
+    }
+
+    public CompletableFuture<Integer> settleAll() {
+        return CompletableFuture.supplyAsync(() -> {
+            int settled = 0;
+            for (Entry entry : list(Integer.MAX_VALUE).join()) {
+                if (attempt(entry)) {
+                    settled++;
+                }
+            }
+            return settled;
+        }, economyThread);
+    }
+
+    // For credits an admin has paid by hand; the amount leaves escrow without a deposit.
+    public CompletableFuture<Boolean> dismiss(long id) {
+        return CompletableFuture.supplyAsync(() -> {
+            List<Entry> found = database.read(session -> select(session, BY_ID_SQL, statement -> statement.setLong(1, id))).join();
+            if (found.isEmpty() || !close(found.get(0), State.DISMISSED)) {
+                return false;
+            }
+            ledger.record(found.get(0).gameId(), EscrowLedger.Flow.WRITTEN_OFF, found.get(0).amountMinor());
+            return true;
+        }, economyThread);
+    }
+
+    static long backoffMillis(int attempts, CoinFlipConfig.OutboxSettings settings) {
+        long base = TimeUnit.SECONDS.toMillis(settings.retrySeconds());
+        long max = TimeUnit.SECONDS.toMillis(settings.maxRetrySeconds());
+        int doublings = Math.max(0, Math.min(20, attempts - 1));
+        return Math.min(max, base << doublings);
+    }
+
+    private void tick() {
+        if (!available.getAsBoolean() || !draining.compareAndSet(false, true)) {
+            return;
+        }
+        CompletableFuture.runAsync(this::drainDue, economyThread).whenComplete((ignored, ex) -> {
+            draining.set(false);
+            if (ex != null) {
+                logger.severe("Credit outbox retry failed: " + ex.getMessage());
+            }
+        });
+    }
+
+    void drainDue() {
+        long now = System.currentTimeMillis();
+        List<Entry> due = database.read(session -> select(session, DUE_SQL, statement -> {
+            statement.setLong(1, now);
+            statement.setInt(2, BATCH_SIZE);
+        })).join();
+        for (Entry entry : due) {
+            if (!available.getAsBoolean()) {
+                return;
+            }
+            attempt(entry);
+        }
+    }
+
+    // Economy thread only.
+    boolean attempt(Entry entry) {
+        if (entry.state() != State.PENDING && entry.state() != State.CLAIMED) {
+            return false;
+        }
+        int claimed = database.write(session -> {
+            PreparedStatement statement = session.prepare(CLAIM_SQL);
+            statement.setLong(1, entry.id());
+            return statement.executeUpdate();
+        }).join();
+        if (claimed == 0) {
+            return false;
+        }
+        String error;
+        try {
+            error = depositor.deposit(entry.playerId(), entry.amountMinor())
+                    ? null
+                    : "Economy provider declined the deposit";
+        } catch (RuntimeException ex) {
+            error = ex.getMessage() != null ? ex.getMessage() : ex.getClass().getSimpleName();
+        }
+        if (error == null) {
+            close(entry, State.SETTLED);
+            ledger.record(entry.gameId(), EscrowLedger.Flow.REFUND, entry.amountMinor());
+            logger.info("Settled outbox credit #" + entry.id() + " of " + Money.toMajor(entry.amountMinor())
+                    + " for " + entry.playerId() + ".");
+            return true;
+        }
+        String lastError = error;
+        long retryAt = System.currentTimeMillis() + backoffMillis(entry.attempts() + 1, settings.get());
+        database.write(session -> {
+            PreparedStatement statement = session.prepare(RETRY_SQL);
+            statement.setLong(1, retryAt);
+            statement.setString(2, lastError);
+            statement.setLong(3, entry.id());
+            return statement.executeUpdate();
+        }).join();
+        return false;
+    }
+
+    private boolean close(Entry entry, State state) {
+        return database.write(session -> {
+            PreparedStatement statement = session.prepare(CLOSE_SQL);
+            statement.setString(1, state.name());
+            statement.setLong(2, System.currentTimeMillis());
+            statement.setLong(3, entry.id());
+            return statement.executeUpdate();
+        }).join() > 0;
+    }
+
+    private static List<Entry> select(SqliteDatabase.Session session, String sql, Binder binder) throws SQLException {
+        PreparedStatement statement = session.prepare(sql);
+        binder.bind(statement);
+        List<Entry> entries = new ArrayList<>();
+        try (ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                entries.add(new Entry(
+                        rs.getLong("id"),
+                        UUID.fromString(rs.getString("game_uuid")),
+                        UUID.fromString(rs.getString("player_uuid")),
+                        rs.getLong("amount"),
+                        State.valueOf(rs.getString("state")),
+                        rs.getInt("attempts"),
+                        rs.getLong("next_attempt_at"),
+                        rs.getString("last_error")));
+            }
+        }
+        return entries;
+    }
+
+    // The economy's deposit, by player id; true once the provider accepted it.
+    interface Depositor {
+        boolean deposit(UUID playerId, long amountMinor);
+    }
+
+    private interface Binder {
+        void bind(PreparedStatement statement) throws SQLException;
+    }
+}
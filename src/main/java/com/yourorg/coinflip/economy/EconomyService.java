@@ -1,23 +1,67 @@
 package com.yourorg.coinflip.economy;
 
 import com.yourorg.coinflip.CoinFlipPlugin;
+import com.yourorg.coinflip.config.CoinFlipConfig;
+import com.yourorg.coinflip.util.FormatCache;
+import com.yourorg.coinflip.util.Money;
+import com.yourorg.coinflip.util.NumberFormatter;
 import net.milkbowl.vault.economy.Economy;
 import net.milkbowl.vault.economy.EconomyResponse;
 import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.plugin.RegisteredServiceProvider;
 
-import java.text.DecimalFormat;
+import java.util.Map;
 import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
-public final class EconomyService {
+public final class EconomyService implements Listener {
+
+    private static final long BALANCE_TTL_MILLIS = 5_000L;
 
     private final CoinFlipPlugin plugin;
+    private final ExecutorService executor;
+    // Vault's format output depends only on the amount, so repeated bet sizes are formatted once.
+    private final FormatCache currencyFormats = new FormatCache(1024);
+    private final EscrowLedger ledger = new EscrowLedger();
+    private final BalanceCache balances = new BalanceCache(BALANCE_TTL_MILLIS);
+    private final Map<UUID, CompletableFuture<Double>> refreshing = new ConcurrentHashMap<>();
+    private final VaultMonitor monitor;
+    // What Vault actually confirmed, kept apart from the ledger so the two can be reconciled.
+    private final AtomicLong withdrawnMinor = new AtomicLong();
+    private final AtomicLong depositedMinor = new AtomicLong();
     private Economy economy;
+    private NumberFormatter numberFormatter;
 
     public EconomyService(CoinFlipPlugin plugin) {
         this.plugin = plugin;
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "CoinFlip-Economy");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.monitor = new VaultMonitor(plugin.getLogger(), plugin.config().vault());
+        reload();
+    }
+
+    public void reload() {
+        CoinFlipConfig.FormatSettings format = plugin.config().format();
+        this.numberFormatter = new NumberFormatter(format.grouping(), format.decimals(), format.compact());
+        currencyFormats.clear();
+        monitor.reload(plugin.config().vault());
     }
 
     public boolean setupEconomy() {
@@ -29,53 +73,170 @@ public final class EconomyService {
             return false;
         }
         this.economy = rsp.getProvider();
-        return this.economy != null;
+        if (this.economy == null) {
+            return false;
+        }
+        Bukkit.getPluginManager().registerEvents(this, plugin);
+        return true;
     }
 
-    public boolean hasBalance(Player player, double amount) {
-        Objects.requireNonNull(economy, "Economy provider not set");
-        return economy.has(player, amount);
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                plugin.getLogger().severe("Economy transactions did not finish before shutdown.");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        balances.clear();
     }
 
-    public boolean hasBalance(OfflinePlayer player, double amount) {
-        Objects.requireNonNull(economy, "Economy provider not set");
-        return economy.has(player, amount);
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        balanceSnapshot(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        balances.evict(event.getPlayer().getUniqueId());
+    }
+
+    // Queued work is counted so the monitor can refuse new coinflips while calls pile up behind a slow provider.
+    public <T> CompletableFuture<T> supplyAsync(Supplier<T> transaction) {
+        monitor.enqueued();
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return transaction.get();
+            } finally {
+                monitor.dequeued();
+            }
+        }, executor);
+    }
+
+    public CompletableFuture<Void> runAsync(Runnable transaction) {
+        return supplyAsync(() -> {
+            transaction.run();
+            return null;
+        });
+    }
+
+    // False while the circuit breaker is open or too many calls are waiting; payouts and refunds still go through.
+    public boolean available() {
+        return monitor.available();
+    }
+
+    public VaultMonitor monitor() {
+        return monitor;
+    }
+
+    public CompletableFuture<Boolean> depositAsync(OfflinePlayer player, long amountMinor) {
+        return supplyAsync(() -> deposit(player, amountMinor));
     }
 
-    public boolean withdraw(OfflinePlayer player, double amount) {
+    // For pre-checks: completes at once from a fresh snapshot, otherwise after one shared read on the economy thread.
+    public CompletableFuture<Double> balanceSnapshot(OfflinePlayer player) {
+        UUID playerId = player.getUniqueId();
+        double cached = balances.fresh(playerId, System.currentTimeMillis());
+        if (!Double.isNaN(cached)) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        // Registered before the read starts; a cleanup inside computeIfAbsent could run while the map is mid-update.
+        CompletableFuture<Double> pending = new CompletableFuture<>();
+        CompletableFuture<Double> running = refreshing.putIfAbsent(playerId, pending);
+        if (running != null) {
+            return running;
+        }
+        supplyAsync(() -> balance(player)).whenComplete((balance, ex) -> {
+            refreshing.remove(playerId, pending);
+            if (ex != null) {
+                pending.completeExceptionally(ex);
+            } else {
+                pending.complete(balance);
+            }
+        });
+        return pending;
+    }
+
+    // Economy thread only: the snapshot when fresh, otherwise a Vault read that refreshes it.
+    public double currentBalance(OfflinePlayer player) {
+        double cached = balances.fresh(player.getUniqueId(), System.currentTimeMillis());
+        return Double.isNaN(cached) ? balance(player) : cached;
+    }
+
+    // Vault speaks doubles; amounts are converted here and nowhere else.
+    public boolean withdraw(OfflinePlayer player, long amountMinor) {
         Objects.requireNonNull(economy, "Economy provider not set");
-        EconomyResponse response = economy.withdrawPlayer(player, amount);
-        return response.transactionSuccess();
+        EconomyResponse response;
+        try {
+            response = monitor.call(VaultMonitor.Operation.WITHDRAW,
+                    () -> economy.withdrawPlayer(player, Money.toMajor(amountMinor)));
+        } finally {
+            balances.invalidate(player.getUniqueId());
+        }
+        if (!response.transactionSuccess()) {
+            return false;
+        }
+        withdrawnMinor.addAndGet(amountMinor);
+        return true;
     }
 
     public double balance(OfflinePlayer player) {
         Objects.requireNonNull(economy, "Economy provider not set");
-        return economy.getBalance(player);
+        UUID playerId = player.getUniqueId();
+        long generation = balances.generation(playerId);
+        double balance = monitor.call(VaultMonitor.Operation.BALANCE, () -> economy.getBalance(player));
+        balances.store(playerId, generation, balance, System.currentTimeMillis());
+        return balance;
     }
 
     public double balance(Player player) {
         return balance((OfflinePlayer) player);
     }
 
-    public boolean deposit(OfflinePlayer player, double amount) {
+    public boolean deposit(OfflinePlayer player, long amountMinor) {
         Objects.requireNonNull(economy, "Economy provider not set");
-        EconomyResponse response = economy.depositPlayer(player, amount);
-        return response.transactionSuccess();
+        EconomyResponse response;
+        try {
+            response = monitor.call(VaultMonitor.Operation.DEPOSIT,
+                    () -> economy.depositPlayer(player, Money.toMajor(amountMinor)));
+        } finally {
+            balances.invalidate(player.getUniqueId());
+        }
+        if (!response.transactionSuccess()) {
+            return false;
+        }
+        depositedMinor.addAndGet(amountMinor);
+        return true;
     }
 
     public String formatCurrency(double amount) {
         Objects.requireNonNull(economy, "Economy provider not set");
-        return economy.format(amount);
+        return currencyFormats.get(amount, economy::format);
+    }
+
+    public String formatCurrency(long amountMinor) {
+        return formatCurrency(Money.toMajor(amountMinor));
     }
 
     public String formatNumber(double amount) {
-        DecimalFormat format = new DecimalFormat("#,##0.##");
-        format.setGroupingUsed(true);
-        return format.format(amount);
+        return numberFormatter.format(amount);
+    }
+
+    public String formatMoney(long amountMinor) {
+        return numberFormatter.format(Money.toMajor(amountMinor));
+    }
+
+    public EscrowLedger ledger() {
+        return ledger;
+    }
+
+    public long withdrawnTotal() {
+        return withdrawnMinor.get();
     }
 
-    public Economy economy() {
-        return economy;
+    public long depositedTotal() {
+        return depositedMinor.get();
     }
 
     public OfflinePlayer offlinePlayer(String name) {
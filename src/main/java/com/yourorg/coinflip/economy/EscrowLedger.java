@@ -0,0 +1,127 @@
+package com.yourorg.coinflip.economy;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+// Double-entry record of every amount the plugin moves, in minor units. Each flow credits one account and debits
+// another, so ESCROW must always equal what the open games still hold and TAX_ACCRUED what awaits settlement.
+public final class EscrowLedger {
+
+    public enum Account {
+        WALLETS,
+        ESCROW,
+        TAX_ACCRUED,
+        SERVER,
+        PRIOR_RUN
+    }
+
+    public enum Flow {
+        STAKE(Account.WALLETS, Account.ESCROW),
+        RECOVERED(Account.PRIOR_RUN, Account.ESCROW),
+        PAYOUT(Account.ESCROW, Account.WALLETS),
+        REFUND(Account.ESCROW, Account.WALLETS),
+        TAX(Account.ESCROW, Account.TAX_ACCRUED),
+        TAX_PAID(Account.TAX_ACCRUED, Account.WALLETS),
+        TAX_BURNED(Account.TAX_ACCRUED, Account.SERVER),
+        WRITTEN_OFF(Account.ESCROW, Account.SERVER);
+
+        private final Account from;
+        private final Account to;
+
+        Flow(Account from, Account to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        public Account from() {
+            return from;
+        }
+
+        public Account to() {
+            return to;
+        }
+    }
+
+    private final long[] totals = new long[Flow.values().length];
+    private final long[] balances = new long[Account.values().length];
+    private final Map<UUID, Long> held = new HashMap<>();
+    private long closedGames;
+
+    public synchronized void record(UUID gameId, Flow flow, long amount) {
+        if (flow == Flow.TAX_PAID || flow == Flow.TAX_BURNED) {
+            throw new IllegalArgumentException(flow + " is not a per-game flow");
+        }
+        if (amount <= 0L) {
+            return;
+        }
+        post(flow, amount);
+        long remaining = held.getOrDefault(gameId, 0L) + (flow.to() == Account.ESCROW ? amount : -amount);
+        if (remaining == 0L) {
+            held.remove(gameId);
+            closedGames++;
+        } else {
+            held.put(gameId, remaining);
+        }
+    }
+
+    public synchronized void settleTax(Flow flow, long amount) {
+        if (flow != Flow.TAX_PAID && flow != Flow.TAX_BURNED) {
+            throw new IllegalArgumentException(flow + " does not settle tax");
+        }
+        if (amount > balances[Account.TAX_ACCRUED.ordinal()]) {
+            throw new IllegalArgumentException("Cannot settle " + amount + " of accrued tax");
+        }
+        if (amount > 0L) {
+            post(flow, amount);
+        }
+    }
+
+    public synchronized long accruedTax() {
+        return balances[Account.TAX_ACCRUED.ordinal()];
+    }
+
+    public synchronized Snapshot snapshot() {
+        long heldByGames = 0L;
+        for (long amount : held.values()) {
+            heldByGames += amount;
+        }
+        return new Snapshot(totals.clone(), balances.clone(), new ArrayList<>(held.keySet()), heldByGames, closedGames);
+    }
+
+    private void post(Flow flow, long amount) {
+        totals[flow.ordinal()] += amount;
+        balances[flow.from().ordinal()] -= amount;
+        balances[flow.to().ordinal()] += amount;
+    }
+
+    public record Snapshot(long[] totals, long[] balances, List<UUID> openGames, long heldByGames, long closedGames) {
+
+        public long total(Flow flow) {
+            return totals[flow.ordinal()];
+        }
+
+        public long balance(Account account) {
+            return balances[account.ordinal()];
+        }
+
+        // What the ledger says left player wallets; Vault's successful withdrawals must match.
+        public long walletDebits() {
+            return total(Flow.STAKE);
+        }
+
+        public long walletCredits() {
+            return total(Flow.PAYOUT) + total(Flow.REFUND) + total(Flow.TAX_PAID);
+        }
+
+        public boolean balanced() {
+            long sum = 0L;
+            for (long balance : balances) {
+                sum += balance;
+            }
+            return sum == 0L && heldByGames == balance(Account.ESCROW);
+        }
+    }
+}
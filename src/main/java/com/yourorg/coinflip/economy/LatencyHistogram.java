@@ -0,0 +1,65 @@
+package com.yourorg.coinflip.economy;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Power-of-two buckets from 64 microseconds up; percentiles report the upper bound of their bucket.
+public final class LatencyHistogram {
+
+    private static final int FIRST_SHIFT = 6;
+    private static final int BUCKETS = 20;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong totalMicros = new AtomicLong();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    public void record(long nanos) {
+        long micros = Math.max(0L, TimeUnit.NANOSECONDS.toMicros(nanos));
+        counts.incrementAndGet(bucket(micros));
+        totalMicros.addAndGet(micros);
+        maxMicros.accumulateAndGet(micros, Math::max);
+    }
+
+    public long count() {
+        long count = 0L;
+        for (int i = 0; i < BUCKETS; i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    public long meanMicros() {
+        long count = count();
+        return count == 0L ? 0L : totalMicros.get() / count;
+    }
+
+    public long maxMicros() {
+        return maxMicros.get();
+    }
+
+    public long percentileMicros(double percentile) {
+        long count = count();
+        if (count == 0L) {
+            return 0L;
+        }
+        long rank = (long) Math.ceil(count * percentile / 100D);
+        long seen = 0L;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return i == BUCKETS - 1 ? maxMicros.get() : upperBound(i);
+            }
+        }
+        return maxMicros.get();
+    }
+
+    static int bucket(long micros) {
+        int bits = 64 - Long.numberOfLeadingZeros(micros);
+        return Math.min(BUCKETS - 1, Math.max(0, bits - FIRST_SHIFT));
+    }
+
+    static long upperBound(int bucket) {
+        return 1L << (bucket + FIRST_SHIFT);
+    }
+}
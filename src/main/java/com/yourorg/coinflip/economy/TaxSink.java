@@ -0,0 +1,208 @@
+package com.yourorg.coinflip.economy;
+
+import com.yourorg.coinflip.CoinFlipPlugin;
+import com.yourorg.coinflip.config.CoinFlipConfig;
+import com.yourorg.coinflip.storage.SqliteDatabase;
+import com.yourorg.coinflip.util.Money;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+// Collects tax in the ledger and pays a player recipient in one deposit per interval instead of one per game.
+// Everything except start and shutdown runs on the economy thread, so accrue and flush never interleave.
+// The game's journal entry is closed once its tax accrues, so unpaid tax is kept in data.db until a batch lands.
+// A batch is claimed before its deposit; one still claimed at start may have been paid and is only reported.
+public final class TaxSink {
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10L;
+
+    private static final String TABLE_SQL = """
+            CREATE TABLE IF NOT EXISTS tax_accrued (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                game_uuid TEXT NOT NULL,
+                amount INTEGER NOT NULL,
+                batch INTEGER
+            )
+            """;
+
+    private static final String INSERT_SQL = "INSERT INTO tax_accrued (game_uuid, amount) VALUES (?, ?)";
+    private static final String OPEN_SQL = "SELECT game_uuid, amount FROM tax_accrued WHERE batch IS NULL";
+    private static final String INTERRUPTED_SQL = "SELECT COALESCE(SUM(amount), 0) FROM tax_accrued WHERE batch IS NOT NULL";
+    private static final String DROP_INTERRUPTED_SQL = "DELETE FROM tax_accrued WHERE batch IS NOT NULL";
+    private static final String CLAIM_SQL = "UPDATE tax_accrued SET batch = ? WHERE batch IS NULL";
+    private static final String RELEASE_SQL = "UPDATE tax_accrued SET batch = NULL WHERE batch = ?";
+    private static final String DELETE_SQL = "DELETE FROM tax_accrued WHERE batch = ?";
+
+    private final CoinFlipPlugin plugin;
+    private final SqliteDatabase database;
+    private final EconomyService economy;
+    private final EscrowLedger ledger;
+
+    private BukkitTask task;
+    private long lastFlushMillis;
+    private String recipientName;
+    private OfflinePlayer recipient;
+
+    public TaxSink(CoinFlipPlugin plugin) {
+        this.plugin = plugin;
+        this.database = plugin.database();
+        this.economy = plugin.economyService();
+        this.ledger = economy.ledger();
+    }
+
+    public void start() {
+        load();
+        lastFlushMillis = System.currentTimeMillis();
+        // Ticks every second so a reloaded interval applies without rescheduling.
+        this.task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 20L, 20L);
+    }
+
+    public void shutdown() {
+        if (task != null) {
+            task.cancel();
+        }
+        try {
+            economy.runAsync(this::flush).get(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (Exception ex) {
+            plugin.getLogger().severe("Failed to settle " + Money.toMajor(ledger.accruedTax()) + " of tax before shutdown; "
+                    + "it is paid after the next start: " + ex.getMessage());
+        }
+    }
+
+    // Economy thread only.
+    public void accrue(UUID gameId, long amount) {
+        if (amount <= 0L) {
+            return;
+        }
+        ledger.record(gameId, EscrowLedger.Flow.TAX, amount);
+        if (isServer(plugin.config().tax())) {
+            ledger.settleTax(EscrowLedger.Flow.TAX_BURNED, amount);
+            return;
+        }
+        try {
+            database.write(session -> {
+                PreparedStatement statement = session.prepare(INSERT_SQL);
+                statement.setString(1, gameId.toString());
+                statement.setLong(2, amount);
+                return statement.executeUpdate();
+            }).join();
+        } catch (CompletionException ex) {
+            plugin.getLogger().severe("Failed to store " + Money.toMajor(amount) + " of tax from game " + gameId
+                    + "; it is lost if the server stops before the next payout: " + ex.getMessage());
+        }
+    }
+
+    private void load() {
+        try {
+            long interrupted = database.write(session -> {
+                session.execute(TABLE_SQL);
+                try (ResultSet rs = session.prepare(OPEN_SQL).executeQuery()) {
+                    while (rs.next()) {
+                        // Back into escrow and straight out as tax, so the ledger stays balanced per game.
+                        UUID gameId = UUID.fromString(rs.getString("game_uuid"));
+                        long amount = rs.getLong("amount");
+                        ledger.record(gameId, EscrowLedger.Flow.RECOVERED, amount);
+                        ledger.record(gameId, EscrowLedger.Flow.TAX, amount);
+                    }
+                }
+                long claimed;
+                try (ResultSet rs = session.prepare(INTERRUPTED_SQL).executeQuery()) {
+                    claimed = rs.next() ? rs.getLong(1) : 0L;
+                }
+                session.execute(DROP_INTERRUPTED_SQL);
+                return claimed;
+            }).join();
+            if (ledger.accruedTax() > 0L) {
+                plugin.getLogger().warning(Money.toMajor(ledger.accruedTax()) + " of tax from the last run is still owed.");
+            }
+            if (interrupted > 0L) {
+                plugin.getLogger().severe(Money.toMajor(interrupted) + " of tax was mid-deposit to " + plugin.config().tax().recipient()
+                        + " when the server stopped. Check their balance and pay it by hand if it is missing.");
+            }
+        } catch (CompletionException ex) {
+            plugin.getLogger().severe("Failed to load accrued tax: " + ex.getMessage());
+        }
+    }
+
+    private void tick() {
+        long intervalMillis = plugin.config().tax().settleIntervalSeconds() * 1000L;
+        long now = System.currentTimeMillis();
+        if (now - lastFlushMillis < intervalMillis) {
+            return;
+        }
+        lastFlushMillis = now;
+        economy.runAsync(this::flush);
+    }
+
+    private void flush() {
+        long amount = ledger.accruedTax();
+        if (amount <= 0L) {
+            return;
+        }
+        CoinFlipConfig.TaxSettings tax = plugin.config().tax();
+        long batch = System.currentTimeMillis();
+        if (!update(CLAIM_SQL, batch)) {
+            // Paying without the claim would pay the stored rows again after a restart.
+            return;
+        }
+        if (isServer(tax)) {
+            // The recipient was switched to the server by a reload; what was owed is removed like any other tax.
+            ledger.settleTax(EscrowLedger.Flow.TAX_BURNED, amount);
+            update(DELETE_SQL, batch);
+            return;
+        }
+        boolean paid;
+        try {
+            paid = economy.deposit(recipient(tax.recipient()), amount);
+        } catch (RuntimeException ex) {
+            plugin.getLogger().severe("Economy provider failed to deposit tax: " + ex.getMessage());
+            paid = false;
+        }
+        if (paid) {
+            ledger.settleTax(EscrowLedger.Flow.TAX_PAID, amount);
+            update(DELETE_SQL, batch);
+            return;
+        }
+        // Left accrued, so the next interval retries the whole batch.
+        update(RELEASE_SQL, batch);
+        plugin.getLogger().warning("Failed to deposit " + Money.toMajor(amount) + " of tax to " + tax.recipient());
+        if (plugin.isEnabled()) {
+            Bukkit.getScheduler().runTask(plugin, () -> plugin.messageService().notifyStaffRaw("notify-error",
+                    Placeholder.parsed("message", "Failed to deposit tax to " + tax.recipient())));
+        }
+    }
+
+    private boolean update(String sql, long batch) {
+        try {
+            database.write(session -> {
+                PreparedStatement statement = session.prepare(sql);
+                statement.setLong(1, batch);
+                return statement.executeUpdate();
+            }).join();
+            return true;
+        } catch (CompletionException ex) {
+            plugin.getLogger().severe("Failed to update stored tax: " + ex.getMessage());
+            return false;
+        }
+    }
+
+    // Name lookups can block on Mojang, so the account is looked up once per configured name.
+    private OfflinePlayer recipient(String name) {
+        if (recipient == null || !name.equalsIgnoreCase(recipientName)) {
+            recipient = economy.offlinePlayer(name);
+            recipientName = name;
+        }
+        return recipient;
+    }
+
+    private static boolean isServer(CoinFlipConfig.TaxSettings tax) {
+        return "server".equalsIgnoreCase(tax.recipient());
+    }
+}
@@ -0,0 +1,146 @@
+package com.yourorg.coinflip.economy;
+
+import com.yourorg.coinflip.config.CoinFlipConfig;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+// Times every call into the Vault provider and decides whether new coinflips may start. Provider calls run on the
+// single economy thread, so one running call is tracked; a call stuck past its deadline opens the breaker at once.
+public final class VaultMonitor {
+
+    private static final long WARN_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(30L);
+
+    public enum Operation {
+        BALANCE,
+        WITHDRAW,
+        DEPOSIT
+    }
+
+    private final Logger logger;
+    private final Map<Operation, LatencyHistogram> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, AtomicLong> slowCalls = new EnumMap<>(Operation.class);
+    private final Map<Operation, AtomicLong> failures = new EnumMap<>(Operation.class);
+    private final Map<Operation, AtomicLong> lastWarnedAt = new EnumMap<>(Operation.class);
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final CircuitBreaker breaker;
+
+    private volatile CoinFlipConfig.VaultSettings settings;
+    private volatile long runningSinceNanos;
+    private volatile Operation running;
+
+    VaultMonitor(Logger logger, CoinFlipConfig.VaultSettings settings) {
+        this.logger = logger;
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new LatencyHistogram());
+            slowCalls.put(operation, new AtomicLong());
+            failures.put(operation, new AtomicLong());
+            lastWarnedAt.put(operation, new AtomicLong());
+        }
+        this.settings = settings;
+        this.breaker = new CircuitBreaker(settings.failureThreshold(), TimeUnit.SECONDS.toMillis(settings.openSeconds()));
+    }
+
+    // The breaker is reconfigured in place so a reload neither closes it nor forgets its trips.
+    void reload(CoinFlipConfig.VaultSettings settings) {
+        this.settings = settings;
+        breaker.configure(settings.failureThreshold(), TimeUnit.SECONDS.toMillis(settings.openSeconds()));
+    }
+
+    <T> T call(Operation operation, Supplier<T> call) {
+        long start = System.nanoTime();
+        running = operation;
+        runningSinceNanos = start;
+        boolean failed = true;
+        try {
+            T result = call.get();
+            failed = false;
+            return result;
+        } finally {
+            runningSinceNanos = 0L;
+            running = null;
+            finished(operation, System.nanoTime() - start, failed);
+        }
+    }
+
+    void enqueued() {
+        queued.incrementAndGet();
+    }
+
+    void dequeued() {
+        queued.decrementAndGet();
+    }
+
+    public boolean available() {
+        long now = System.currentTimeMillis();
+        long since = runningSinceNanos;
+        if (since != 0L && System.nanoTime() - since > TimeUnit.MILLISECONDS.toNanos(settings.timeoutMillis())) {
+            breaker.trip(now);
+        }
+        return breaker.allows(now) && queued.get() <= settings.maxQueued();
+    }
+
+    public CircuitBreaker breaker() {
+        return breaker;
+    }
+
+    public LatencyHistogram latency(Operation operation) {
+        return latencies.get(operation);
+    }
+
+    public long slowCalls(Operation operation) {
+        return slowCalls.get(operation).get();
+    }
+
+    public long failures(Operation operation) {
+        return failures.get(operation).get();
+    }
+
+    public int queued() {
+        return queued.get();
+    }
+
+    // Null while the economy thread is idle.
+    public Operation running() {
+        return running;
+    }
+
+    public long runningMillis() {
+        long since = runningSinceNanos;
+        return since == 0L ? 0L : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - since);
+    }
+
+    private void finished(Operation operation, long nanos, boolean failed) {
+        latencies.get(operation).record(nanos);
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        long now = System.currentTimeMillis();
+        if (millis >= settings.slowCallMillis()) {
+            slowCalls.get(operation).incrementAndGet();
+            warnSlow(operation, millis, now);
+        }
+        if (failed) {
+            failures.get(operation).incrementAndGet();
+        }
+        if (failed || millis >= settings.timeoutMillis()) {
+            breaker.onFailure(now);
+        } else {
+            breaker.onSuccess(now);
+        }
+    }
+
+    private void warnSlow(Operation operation, long millis, long now) {
+        AtomicLong lastWarned = lastWarnedAt.get(operation);
+        long previous = lastWarned.get();
+        if (now - previous < WARN_INTERVAL_MILLIS || !lastWarned.compareAndSet(previous, now)) {
+            return;
+        }
+        logger.warning("Vault " + operation.name().toLowerCase() + " took " + millis + "ms ("
+                + slowCalls.get(operation).get() + " slow calls so far). The economy plugin may be struggling.");
+    }
+}
@@ -3,8 +3,7 @@ package com.yourorg.coinflip.game;
 import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.AtomicReference;
 
 public final class CoinFlipGame {
 
@@ -12,24 +11,23 @@ public final class CoinFlipGame {
     private final UUID creator;
     private final GameType type;
     private final UUID target;
-    private final double amount;
+    private final long amountMinor;
     private final long createdAt;
     private final long expiresAt;
-    private final Lock lock = new ReentrantLock(true);
+    private final AtomicReference<GameState> state = new AtomicReference<>(GameState.PENDING);
+    private final Escrow escrow = new Escrow();
 
-    private volatile GameState state;
     private volatile UUID acceptor;
     private volatile Instant resolvedAt;
 
-    public CoinFlipGame(UUID id, UUID creator, GameType type, UUID target, double amount, long createdAt, long expiresAt) {
+    public CoinFlipGame(UUID id, UUID creator, GameType type, UUID target, long amountMinor, long createdAt, long expiresAt) {
         this.id = id;
         this.creator = creator;
         this.type = type;
         this.target = target;
-        this.amount = amount;
+        this.amountMinor = amountMinor;
         this.createdAt = createdAt;
         this.expiresAt = expiresAt;
-        this.state = GameState.PENDING;
     }
 
     public UUID id() {
@@ -48,8 +46,8 @@ public final class CoinFlipGame {
         return Optional.ofNullable(target);
     }
 
-    public double amount() {
-        return amount;
+    public long amountMinor() {
+        return amountMinor;
     }
 
     public long createdAt() {
@@ -61,15 +59,15 @@ public final class CoinFlipGame {
     }
 
     public boolean isExpired(long now) {
-        return state == GameState.PENDING && now >= expiresAt;
+        return state.get() == GameState.PENDING && now >= expiresAt;
     }
 
     public GameState state() {
-        return state;
+        return state.get();
     }
 
-    public void state(GameState state) {
-        this.state = state;
+    public boolean transition(GameState expected, GameState next) {
+        return state.compareAndSet(expected, next);
     }
 
     public Optional<UUID> acceptor() {
@@ -88,8 +86,8 @@ public final class CoinFlipGame {
         this.resolvedAt = resolvedAt;
     }
 
-    public Lock lock() {
-        return lock;
+    public Escrow escrow() {
+        return escrow;
     }
 }
 
@@ -0,0 +1,27 @@
+package com.yourorg.coinflip.game;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public final class Escrow {
+
+    private final AtomicReference<EscrowState> state = new AtomicReference<>(EscrowState.RESERVED);
+    private final AtomicInteger stakes = new AtomicInteger();
+
+    public EscrowState state() {
+        return state.get();
+    }
+
+    public int stakes() {
+        return stakes.get();
+    }
+
+    boolean transition(EscrowState expected, EscrowState next) {
+        return state.compareAndSet(expected, next);
+    }
+
+    void stakeWithdrawn() {
+        stakes.incrementAndGet();
+        state.compareAndSet(EscrowState.RESERVED, EscrowState.WITHDRAWN);
+    }
+}
@@ -0,0 +1,308 @@
+package com.yourorg.coinflip.game;
+
+import com.yourorg.coinflip.util.Money;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+final class EscrowJournal {
+
+    private static final long FLUSH_INTERVAL_MILLIS = 100L;
+    private static final int COMPACT_THRESHOLD = 1024;
+
+    private final Path path;
+    private final Logger logger;
+    private final Queue<String> pending = new ConcurrentLinkedQueue<>();
+    private final Map<UUID, OpenStake> open = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService writer;
+    // Guarded by this; lines polled from pending stay here until a write of them is forced to disk.
+    private final Deque<String> unwritten = new ArrayDeque<>();
+
+    private FileChannel channel;
+    private int closedSinceCompaction;
+
+    EscrowJournal(Path path, Logger logger) {
+        this.path = path;
+        this.logger = logger;
+        this.writer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "CoinFlip-Journal");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    List<OpenStake> open() {
+        List<OpenStake> orphaned = new ArrayList<>(replay().values());
+        orphaned.forEach(stake -> open.put(stake.gameId(), stake));
+        try {
+            Files.createDirectories(path.getParent());
+            compact();
+        } catch (IOException ex) {
+            logger.severe("Failed to open escrow journal: " + ex.getMessage());
+        }
+        writer.scheduleWithFixedDelay(this::flush, FLUSH_INTERVAL_MILLIS, FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        return orphaned;
+    }
+
+    void close() {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        try {
+            compact();
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException ex) {
+            logger.severe("Failed to close escrow journal: " + ex.getMessage());
+        }
+    }
+
+    // The intent records below return once they are on disk, and false when that failed. A failed line stays queued,
+    // so whatever the caller writes to undo it lands after it.
+    boolean created(CoinFlipGame game) {
+        OpenStake stake = new OpenStake(game.id(), game.creator(), game.amountMinor(), null, false);
+        open.put(game.id(), stake);
+        return force(stake.createLine());
+    }
+
+    boolean accepted(CoinFlipGame game, UUID acceptor) {
+        open.computeIfPresent(game.id(), (id, stake) -> stake.withAcceptor(acceptor));
+        return force("ACCEPT\t" + game.id() + "\t" + acceptor);
+    }
+
+    // Written before the winner is paid; a stake replayed with this record is never refunded automatically.
+    boolean settling(UUID gameId, UUID winner, long payoutMinor) {
+        open.computeIfPresent(gameId, (id, stake) -> stake.settling(winner, payoutMinor));
+        return force("SETTLING\t" + gameId + "\t" + winner + "\t" + payoutMinor);
+    }
+
+    // Written before one player's share is deposited or queued, so a restart never pays it a second time.
+    boolean repaid(UUID gameId, UUID playerId) {
+        open.computeIfPresent(gameId, (id, stake) -> stake.repaid(playerId));
+        return force("REPAID\t" + gameId + "\t" + playerId);
+    }
+
+    // Takes back a REPAID record when neither the deposit nor the outbox took the share.
+    boolean owed(UUID gameId, UUID playerId) {
+        open.computeIfPresent(gameId, (id, stake) -> stake.owed(playerId));
+        return force("OWED\t" + gameId + "\t" + playerId);
+    }
+
+    void settled(UUID gameId) {
+        close(gameId, "SETTLE");
+    }
+
+    void refunded(UUID gameId) {
+        close(gameId, "REFUND");
+    }
+
+    private void close(UUID gameId, String type) {
+        open.remove(gameId);
+        pending.add(type + "\t" + gameId);
+    }
+
+    private boolean force(String line) {
+        pending.add(line);
+        return flush();
+    }
+
+    private synchronized boolean flush() {
+        String line;
+        while ((line = pending.poll()) != null) {
+            unwritten.add(line);
+        }
+        if (unwritten.isEmpty()) {
+            return true;
+        }
+        if (channel == null) {
+            return false;
+        }
+        StringBuilder batch = new StringBuilder();
+        int closed = 0;
+        for (String queued : unwritten) {
+            batch.append(queued).append('\n');
+            if (queued.startsWith("SETTLE\t") || queued.startsWith("REFUND\t")) {
+                closed++;
+            }
+        }
+        long start = -1L;
+        try {
+            start = channel.size();
+            ByteBuffer buffer = ByteBuffer.wrap(batch.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException ex) {
+            logger.severe("Failed to write escrow journal, keeping " + unwritten.size() + " records for the next attempt: "
+                    + ex.getMessage());
+            truncate(start);
+            return false;
+        }
+        unwritten.clear();
+        closedSinceCompaction += closed;
+        if (closedSinceCompaction >= COMPACT_THRESHOLD) {
+            try {
+                compact();
+            } catch (IOException ex) {
+                logger.severe("Failed to compact escrow journal: " + ex.getMessage());
+            }
+        }
+        return true;
+    }
+
+    // Drops a partly written batch so its retry does not follow a torn line.
+    private void truncate(long size) {
+        if (size < 0L) {
+            return;
+        }
+        try {
+            channel.truncate(size);
+        } catch (IOException ex) {
+            logger.severe("Failed to roll back a partial escrow journal write: " + ex.getMessage());
+        }
+    }
+
+    // Rewrites the journal with only the games that still hold stakes.
+    private synchronized void compact() throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        StringBuilder content = new StringBuilder();
+        for (OpenStake stake : open.values()) {
+            content.append(stake.createLine()).append('\n');
+            if (stake.acceptor() != null) {
+                content.append("ACCEPT\t").append(stake.gameId()).append('\t').append(stake.acceptor()).append('\n');
+            }
+            if (stake.creatorRepaid()) {
+                content.append("REPAID\t").append(stake.gameId()).append('\t').append(stake.creator()).append('\n');
+            }
+            if (stake.winner() != null) {
+                content.append("SETTLING\t").append(stake.gameId()).append('\t').append(stake.winner()).append('\t')
+                        .append(stake.payoutMinor()).append('\n');
+            }
+        }
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(content.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            out.force(true);
+        }
+        if (channel != null) {
+            channel.close();
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        closedSinceCompaction = 0;
+        // The rewrite came from the open stakes, which already reflect every queued record.
+        unwritten.clear();
+    }
+
+    private Map<UUID, OpenStake> replay() {
+        Map<UUID, OpenStake> stakes = new LinkedHashMap<>();
+        if (!Files.exists(path)) {
+            return stakes;
+        }
+        try {
+            for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+                String[] parts = line.split("\t");
+                try {
+                    switch (parts[0]) {
+                        case "CREATE" -> stakes.put(UUID.fromString(parts[1]),
+                                new OpenStake(UUID.fromString(parts[1]), UUID.fromString(parts[2]), parseAmount(parts[3]), null, false));
+                        case "ACCEPT" -> stakes.computeIfPresent(UUID.fromString(parts[1]),
+                                (id, stake) -> stake.withAcceptor(UUID.fromString(parts[2])));
+                        case "REPAID" -> stakes.computeIfPresent(UUID.fromString(parts[1]),
+                                (id, stake) -> stake.repaid(UUID.fromString(parts[2])));
+                        case "OWED" -> stakes.computeIfPresent(UUID.fromString(parts[1]),
+                                (id, stake) -> stake.owed(UUID.fromString(parts[2])));
+                        case "SETTLING" -> stakes.computeIfPresent(UUID.fromString(parts[1]),
+                                (id, stake) -> stake.settling(UUID.fromString(parts[2]), Long.parseLong(parts[3])));
+                        case "SETTLE", "REFUND" -> stakes.remove(UUID.fromString(parts[1]));
+                        default -> logger.warning("Skipping unknown escrow journal record: " + line);
+                    }
+                } catch (RuntimeException ex) {
+                    // A torn final write after a crash leaves a partial line behind.
+                    logger.warning("Skipping malformed escrow journal record: " + line);
+                }
+            }
+        } catch (IOException ex) {
+            logger.severe("Failed to read escrow journal: " + ex.getMessage());
+        }
+        return stakes;
+    }
+
+    // Journals written before amounts moved to minor units hold a decimal major amount.
+    private static long parseAmount(String value) {
+        if (value.indexOf('.') >= 0 || value.indexOf('E') >= 0) {
+            return Money.toMinor(Double.parseDouble(value));
+        }
+        return Long.parseLong(value);
+    }
+
+    // A non-null winner means the payout had started; payoutMinor is what the winner was owed.
+    record OpenStake(UUID gameId, UUID creator, long amountMinor, UUID acceptor, boolean creatorRepaid, UUID winner,
+                     long payoutMinor) {
+
+        OpenStake(UUID gameId, UUID creator, long amountMinor, UUID acceptor, boolean creatorRepaid) {
+            this(gameId, creator, amountMinor, acceptor, creatorRepaid, null, 0L);
+        }
+
+        OpenStake withAcceptor(UUID acceptor) {
+            return new OpenStake(gameId, creator, amountMinor, acceptor, creatorRepaid, winner, payoutMinor);
+        }
+
+        OpenStake settling(UUID winner, long payoutMinor) {
+            return new OpenStake(gameId, creator, amountMinor, acceptor, creatorRepaid, winner, payoutMinor);
+        }
+
+        // Refunds only start once the payout was refused, so a repaid share also clears the settling mark.
+        OpenStake repaid(UUID playerId) {
+            if (playerId.equals(acceptor)) {
+                return new OpenStake(gameId, creator, amountMinor, null, creatorRepaid);
+            }
+            return playerId.equals(creator) ? new OpenStake(gameId, creator, amountMinor, acceptor, true) : this;
+        }
+
+        OpenStake owed(UUID playerId) {
+            if (playerId.equals(creator)) {
+                return new OpenStake(gameId, creator, amountMinor, acceptor, false, winner, payoutMinor);
+            }
+            return new OpenStake(gameId, creator, amountMinor, playerId, creatorRepaid, winner, payoutMinor);
+        }
+
+        // Minor units still owed back to the players.
+        long owedMinor() {
+            return (creatorRepaid ? 0L : amountMinor) + (acceptor != null ? amountMinor : 0L);
+        }
+
+        String createLine() {
+            return "CREATE\t" + gameId + "\t" + creator + "\t" + amountMinor;
+        }
+    }
+}
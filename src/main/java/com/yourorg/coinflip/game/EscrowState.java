@@ -0,0 +1,8 @@
+package com.yourorg.coinflip.game;
+
+public enum EscrowState {
+    RESERVED,
+    WITHDRAWN,
+    SETTLED,
+    REFUNDED
+}
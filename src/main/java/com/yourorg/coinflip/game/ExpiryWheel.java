@@ -0,0 +1,101 @@
+package com.yourorg.coinflip.game;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+final class ExpiryWheel {
+
+    private final long tickMillis;
+    private final int mask;
+    private final Map<UUID, Long>[] slots;
+    private final Map<UUID, Long> scheduledTicks = new HashMap<>();
+
+    private long cursor = Long.MIN_VALUE;
+    private int lastDue;
+    private int peakDue;
+
+    @SuppressWarnings("unchecked")
+    ExpiryWheel(long tickMillis, int wheelSize) {
+        if (tickMillis <= 0 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Tick must be positive and wheel size a power of two");
+        }
+        this.tickMillis = tickMillis;
+        this.mask = wheelSize - 1;
+        this.slots = new Map[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            slots[i] = new LinkedHashMap<>();
+        }
+    }
+
+    synchronized void schedule(UUID id, long deadline) {
+        cancel(id);
+        // Round up so every deadline in a slot has passed once the cursor reaches it.
+        long tick = Math.floorDiv(deadline + tickMillis - 1, tickMillis);
+        if (cursor != Long.MIN_VALUE && tick <= cursor) {
+            tick = cursor + 1;
+        }
+        slots[(int) (tick & mask)].put(id, tick);
+        scheduledTicks.put(id, tick);
+    }
+
+    synchronized void cancel(UUID id) {
+        Long tick = scheduledTicks.remove(id);
+        if (tick != null) {
+            slots[(int) (tick & mask)].remove(id);
+        }
+    }
+
+    synchronized void clear() {
+        for (Map<UUID, Long> slot : slots) {
+            slot.clear();
+        }
+        scheduledTicks.clear();
+    }
+
+    synchronized List<UUID> advance(long now) {
+        long target = Math.floorDiv(now, tickMillis);
+        if (cursor == Long.MIN_VALUE) {
+            cursor = target - 1 - mask;
+        }
+        if (target <= cursor) {
+            lastDue = 0;
+            return Collections.emptyList();
+        }
+
+        List<UUID> due = new ArrayList<>();
+        long steps = Math.min(target - cursor, slots.length);
+        for (long tick = target - steps + 1; tick <= target; tick++) {
+            Iterator<Map.Entry<UUID, Long>> iterator = slots[(int) (tick & mask)].entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<UUID, Long> entry = iterator.next();
+                if (entry.getValue() <= target) {
+                    due.add(entry.getKey());
+                    scheduledTicks.remove(entry.getKey());
+                    iterator.remove();
+                }
+            }
+        }
+        cursor = target;
+        lastDue = due.size();
+        peakDue = Math.max(peakDue, lastDue);
+        return due;
+    }
+
+    synchronized int size() {
+        return scheduledTicks.size();
+    }
+
+    synchronized int lastDue() {
+        return lastDue;
+    }
+
+    synchronized int peakDue() {
+        return peakDue;
+    }
+}
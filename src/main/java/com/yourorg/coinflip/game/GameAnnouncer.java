@@ -0,0 +1,147 @@
+package com.yourorg.coinflip.game;
+
+import com.yourorg.coinflip.CoinFlipPlugin;
+import com.yourorg.coinflip.config.CoinFlipConfig;
+import com.yourorg.coinflip.messages.MessageService;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+final class GameAnnouncer {
+
+    private final CoinFlipPlugin plugin;
+    private final MessageService messages;
+    private final List<Created> created = new ArrayList<>();
+    private final List<Resolved> resolved = new ArrayList<>();
+    private final Deque<Long> sentAt = new ArrayDeque<>();
+
+    private BukkitTask task;
+    private long lastFlushMillis;
+
+    GameAnnouncer(CoinFlipPlugin plugin) {
+        this.plugin = plugin;
+        this.messages = plugin.messageService();
+    }
+
+    void start() {
+        lastFlushMillis = System.currentTimeMillis();
+        // Ticks every second so a reloaded coalesce window applies without rescheduling.
+        this.task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 20L, 20L);
+    }
+
+    void shutdown() {
+        if (task != null) {
+            task.cancel();
+        }
+        created.clear();
+        resolved.clear();
+    }
+
+    void created(String creatorName, long amountMinor, String formattedAmount) {
+        CoinFlipConfig.BroadcastSettings settings = plugin.config().broadcast();
+        if (settings.enabled() && settings.message() != null && !settings.message().isBlank()) {
+            created.add(new Created(creatorName, amountMinor, formattedAmount));
+        }
+    }
+
+    void resolved(String winnerName, String loserName, long potMinor, String formattedPot) {
+        resolved.add(new Resolved(winnerName, loserName, potMinor, formattedPot));
+    }
+
+    private void tick() {
+        long windowMillis = plugin.config().broadcast().coalesceSeconds() * 1000L;
+        long now = System.currentTimeMillis();
+        if (now - lastFlushMillis < windowMillis) {
+            return;
+        }
+        lastFlushMillis = now;
+        flush();
+    }
+
+    private void flush() {
+        if (!messages.hasAnnouncementAudience()) {
+            created.clear();
+            resolved.clear();
+            return;
+        }
+        // Over the cap, announcements stay queued and fold into the next window's summary.
+        if (!created.isEmpty() && acquire()) {
+            messages.announce(renderCreated());
+            created.clear();
+        }
+        if (!resolved.isEmpty() && acquire()) {
+            messages.announce(renderResolved());
+            resolved.clear();
+        }
+    }
+
+    private boolean acquire() {
+        CoinFlipConfig.BroadcastSettings settings = plugin.config().broadcast();
+        long now = System.currentTimeMillis();
+        long periodStart = now - settings.ratePeriodSeconds() * 1000L;
+        while (!sentAt.isEmpty() && sentAt.peekFirst() <= periodStart) {
+            sentAt.pollFirst();
+        }
+        if (sentAt.size() >= settings.rateLimit()) {
+            return false;
+        }
+        sentAt.addLast(now);
+        return true;
+    }
+
+    private Component renderCreated() {
+        if (created.size() == 1) {
+            Created single = created.get(0);
+            String template = plugin.config().broadcast().message();
+            String text = template
+                    .replace("%player%", single.creatorName())
+                    .replace("%amount%", single.formattedAmount());
+            return messages.component("prefix").append(messages.parse(text,
+                    Placeholder.parsed("player", single.creatorName()),
+                    Placeholder.parsed("amount", single.formattedAmount())));
+        }
+        long total = 0L;
+        for (Created entry : created) {
+            total += entry.amountMinor();
+        }
+        return messages.prefixed("broadcast-created-summary",
+                Placeholder.parsed("count", String.valueOf(created.size())),
+                Placeholder.parsed("total", plugin.economyService().formatMoney(total)));
+    }
+
+    private Component renderResolved() {
+        if (resolved.size() == 1) {
+            Resolved single = resolved.get(0);
+            return messages.prefixed("broadcast-result",
+                    Placeholder.parsed("w", single.winnerName()),
+                    Placeholder.parsed("l", single.loserName()),
+                    Placeholder.parsed("pot", single.formattedPot()));
+        }
+        long total = 0L;
+        Resolved biggest = resolved.get(0);
+        for (Resolved entry : resolved) {
+            total += entry.potMinor();
+            if (entry.potMinor() > biggest.potMinor()) {
+                biggest = entry;
+            }
+        }
+        return messages.prefixed("broadcast-result-summary",
+                Placeholder.parsed("count", String.valueOf(resolved.size())),
+                Placeholder.parsed("total", plugin.economyService().formatMoney(total)),
+                Placeholder.parsed("w", biggest.winnerName()),
+                Placeholder.parsed("l", biggest.loserName()),
+                Placeholder.parsed("pot", biggest.formattedPot()));
+    }
+
+    private record Created(String creatorName, long amountMinor, String formattedAmount) {
+    }
+
+    private record Resolved(String winnerName, String loserName, long potMinor, String formattedPot) {
+    }
+}
@@ -2,11 +2,17 @@ package com.yourorg.coinflip.game;
 
 import com.yourorg.coinflip.CoinFlipPlugin;
 import com.yourorg.coinflip.config.CoinFlipConfig;
+import com.yourorg.coinflip.economy.CreditOutbox;
 import com.yourorg.coinflip.economy.EconomyService;
+import com.yourorg.coinflip.economy.EscrowLedger;
+import com.yourorg.coinflip.economy.TaxSink;
+import com.yourorg.coinflip.history.HistoryService;
 import com.yourorg.coinflip.messages.MessageService;
 import com.yourorg.coinflip.stats.StatsService;
 import com.yourorg.coinflip.util.BetUtil;
+import com.yourorg.coinflip.util.Money;
 import com.yourorg.coinflip.util.PayoutCalculator;
+import com.yourorg.coinflip.util.SyncExecutor;
 import net.kyori.adventure.sound.Sound;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
@@ -21,27 +27,48 @@ import org.bukkit.scheduler.BukkitTask;
 
 import java.time.Instant;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
 
 public final class GameService implements Listener {
 
+    private static final long EXPIRY_TICK_MILLIS = 1000L;
+    private static final int EXPIRY_WHEEL_SLOTS = 512;
+    private static final int EXPIRY_STORM_THRESHOLD = 50;
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 10_000L;
+
     private final CoinFlipPlugin plugin;
     private final EconomyService economy;
     private final MessageService messages;
     private final StatsService stats;
+    private final HistoryService history;
 
     private final Map<UUID, CoinFlipGame> gamesById = new ConcurrentHashMap<>();
     private final Map<UUID, UUID> activeByCreator = new ConcurrentHashMap<>();
     private final Map<UUID, UUID> privateByTarget = new ConcurrentHashMap<>();
     private final Set<UUID> resolvingPlayers = ConcurrentHashMap.newKeySet();
+    private final Set<UUID> pendingCreators = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final PublicGameIndex publicIndex = new PublicGameIndex();
+    private final ExpiryWheel expiryWheel = new ExpiryWheel(EXPIRY_TICK_MILLIS, EXPIRY_WHEEL_SLOTS);
+
+    private final SyncExecutor mainThread;
+    private final EscrowJournal journal;
+    private final EscrowLedger ledger;
+    private final TaxSink taxSink;
+    private final CreditOutbox outbox;
+    private final GameAnnouncer announcer;
 
     private BukkitTask expiryTask;
 
@@ -50,10 +77,22 @@ public final class GameService implements Listener {
         this.economy = plugin.economyService();
         this.messages = plugin.messageService();
         this.stats = plugin.statsService();
+        this.history = plugin.historyService();
+        this.mainThread = new SyncExecutor(plugin);
+        this.journal = new EscrowJournal(plugin.getDataFolder().toPath().resolve("escrow.journal"), plugin.getLogger());
+        this.ledger = economy.ledger();
+        this.taxSink = new TaxSink(plugin);
+        this.outbox = new CreditOutbox(plugin);
+        this.announcer = new GameAnnouncer(plugin);
     }
 
     public void start() {
         Bukkit.getPluginManager().registerEvents(this, plugin);
+        // Orphan refunds that fail land in the outbox and interrupted payouts accrue tax, so both tables must exist first.
+        outbox.start();
+        taxSink.start();
+        journal.open().forEach(this::recoverOrphan);
+        announcer.start();
         this.expiryTask = Bukkit.getScheduler().runTaskTimer(plugin, this::tickExpiry, 20L, 20L);
     }
 
@@ -61,11 +100,24 @@ public final class GameService implements Listener {
         if (expiryTask != null) {
             expiryTask.cancel();
         }
+        announcer.shutdown();
+        outbox.shutdown();
+        awaitInFlight();
         new ArrayList<>(gamesById.values()).forEach(game -> cancelGame(game, CancelReason.SHUTDOWN));
+        awaitInFlight();
+        taxSink.shutdown();
         gamesById.clear();
         activeByCreator.clear();
         privateByTarget.clear();
+        publicIndex.clear();
+        expiryWheel.clear();
         resolvingPlayers.clear();
+        pendingCreators.clear();
+        journal.close();
+    }
+
+    public CreditOutbox outbox() {
+        return outbox;
     }
 
     public Optional<CoinFlipGame> findById(UUID id) {
@@ -88,22 +140,43 @@ public final class GameService implements Listener {
         return findById(id);
     }
 
+    // Players holding an open private challenge with this player, in either direction.
+    public Set<UUID> challengePartners(UUID playerId) {
+        Set<UUID> partners = new HashSet<>(2);
+        findPrivateByTarget(playerId).ifPresent(game -> partners.add(game.creator()));
+        findByCreator(playerId).flatMap(CoinFlipGame::target).ifPresent(partners::add);
+        return partners;
+    }
+
     public List<CoinFlipGame> listPublicGames() {
-        List<CoinFlipGame> list = new ArrayList<>();
-        for (CoinFlipGame game : gamesById.values()) {
-            if (game.type() == GameType.PUBLIC && game.state() == GameState.PENDING) {
-                list.add(game);
-            }
-        }
-        list.sort(Comparator.comparingLong(CoinFlipGame::createdAt));
-        return Collections.unmodifiableList(list);
+        return publicIndex.snapshot();
+    }
+
+    public List<CoinFlipGame> listPublicGames(int offset, int limit) {
+        return publicIndex.page(offset, limit);
+    }
+
+    public long publicIndexVersion() {
+        return publicIndex.version();
+    }
+
+    public int publicGameCount() {
+        return publicIndex.size();
+    }
+
+    public int lastExpiredCount() {
+        return expiryWheel.lastDue();
+    }
+
+    public int peakExpiredCount() {
+        return expiryWheel.peakDue();
     }
 
     public boolean canCreate(Player player) {
         if (!plugin.config().limits().oneActivePerPlayer()) {
             return true;
         }
-        return !activeByCreator.containsKey(player.getUniqueId());
+        return !activeByCreator.containsKey(player.getUniqueId()) && !pendingCreators.contains(player.getUniqueId());
     }
 
     public void forceCancel(CoinFlipGame game) {
@@ -111,65 +184,36 @@ public final class GameService implements Listener {
     }
 
     private void cancelGame(CoinFlipGame game, CancelReason reason) {
-        game.lock().lock();
-        try {
-            if (!gamesById.containsKey(game.id())) {
-                return;
-            }
-
-            gamesById.remove(game.id());
-            activeByCreator.remove(game.creator());
-            game.target().ifPresent(privateByTarget::remove);
-
-            if (game.state() == GameState.PENDING) {
-                OfflinePlayer creator = Bukkit.getOfflinePlayer(game.creator());
-                if (!economy.deposit(creator, game.amount())) {
-                    messages.notifyStaffRaw("notify-error",
-                            Placeholder.parsed("message", "Failed to refund creator for canceled game " + game.id()));
-                }
-            }
-
-            game.state(reason.toState());
-            notifyCancellation(game, reason);
-        } finally {
-            game.lock().unlock();
+        // Games that are resolving belong to the settlement pipeline, which unregisters them itself.
+        if (!game.transition(GameState.PENDING, reason.toState())) {
+            return;
         }
+        unregister(game);
+        refundStakes(game);
+        notifyCancellation(game, reason);
     }
 
-    public boolean createPublicGame(Player creator, double amount) {
+    public boolean createPublicGame(Player creator, long amount) {
         if (!canCreate(creator)) {
             messages.send(creator, "already-exists");
             return false;
         }
-        if (!economy.hasBalance(creator, amount)) {
-            messages.send(creator, "insufficient-funds");
-            return false;
-        }
-        if (!checkBalanceLimit(creator, amount)) {
-            return false;
-        }
-        if (!economy.withdraw(creator, amount)) {
-            messages.send(creator, "insufficient-funds");
-            return false;
-        }
 
         long now = System.currentTimeMillis();
         long expiresAt = now + plugin.config().ui().expireSeconds() * 1000L;
         CoinFlipGame game = new CoinFlipGame(UUID.randomUUID(), creator.getUniqueId(), GameType.PUBLIC, null, amount, now, expiresAt);
 
-        gamesById.put(game.id(), game);
-        activeByCreator.put(creator.getUniqueId(), game.id());
-
-        messages.send(creator, "game-created",
-                Placeholder.parsed("amount", formatAmount(amount)),
-                Placeholder.parsed("secs", String.valueOf(plugin.config().ui().expireSeconds())));
+        return startCreate(creator, game, () -> {
+            messages.send(creator, "game-created",
+                    Placeholder.parsed("amount", formatAmount(amount)),
+                    Placeholder.parsed("secs", String.valueOf(plugin.config().ui().expireSeconds())));
 
-        playSound(creator, plugin.config().ui().sounds().open());
-        broadcastCreatedGame(creator, amount);
-        return true;
+            playSound(creator, plugin.config().ui().sounds().open());
+            announcer.created(creator.getName(), amount, formatAmount(amount));
+        });
     }
 
-    public boolean createPrivateGame(Player creator, Player target, double amount) {
+    public boolean createPrivateGame(Player creator, Player target, long amount) {
         if (!canCreate(creator)) {
             messages.send(creator, "already-exists");
             return false;
@@ -178,36 +222,58 @@ public final class GameService implements Listener {
             messages.send(creator, "already-exists");
             return false;
         }
-        if (!economy.hasBalance(creator, amount)) {
-            messages.send(creator, "insufficient-funds");
-            return false;
-        }
-        if (!checkBalanceLimit(creator, amount)) {
-            return false;
-        }
-        if (!economy.withdraw(creator, amount)) {
-            messages.send(creator, "insufficient-funds");
-            return false;
-        }
 
         long now = System.currentTimeMillis();
         long expiresAt = now + plugin.config().ui().privateExpireSeconds() * 1000L;
         CoinFlipGame game = new CoinFlipGame(UUID.randomUUID(), creator.getUniqueId(), GameType.PRIVATE, target.getUniqueId(), amount, now, expiresAt);
 
-        gamesById.put(game.id(), game);
-        activeByCreator.put(creator.getUniqueId(), game.id());
-        privateByTarget.put(target.getUniqueId(), game.id());
+        return startCreate(creator, game, () -> {
+            messages.send(creator, "private-sent",
+                    Placeholder.parsed("target", target.getName()),
+                    Placeholder.parsed("amount", formatAmount(amount)));
 
-        messages.send(creator, "private-sent",
-                Placeholder.parsed("target", target.getName()),
-                Placeholder.parsed("amount", formatAmount(amount)));
+            if (!target.isOnline()) {
+                return;
+            }
+            messages.send(target, "private-received",
+                    Placeholder.parsed("sender", creator.getName()),
+                    Placeholder.parsed("amount", formatAmount(amount)));
 
-        messages.send(target, "private-received",
-                Placeholder.parsed("sender", creator.getName()),
-                Placeholder.parsed("amount", formatAmount(amount)));
+            sendPrivateActionBar(creator, target);
+            playSound(target, plugin.config().ui().sounds().open());
+        });
+    }
 
-        sendPrivateActionBar(creator, target);
-        playSound(target, plugin.config().ui().sounds().open());
+    private boolean startCreate(Player creator, CoinFlipGame game, Runnable onCreated) {
+        if (!economy.available()) {
+            messages.send(creator, "economy-unavailable");
+            return false;
+        }
+        if (!pendingCreators.add(creator.getUniqueId())) {
+            messages.send(creator, "busy");
+            return false;
+        }
+        boolean bypass = creator.hasPermission("coinflip.bypass.minmax");
+        pipeline(withdrawStake(creator, game, bypass), result -> {
+            pendingCreators.remove(creator.getUniqueId());
+            if (result.status() != StakeStatus.WITHDRAWN) {
+                if (creator.isOnline()) {
+                    sendStakeFailure(creator, result);
+                }
+                return;
+            }
+            boolean targetTaken = game.target().map(privateByTarget::containsKey).orElse(false);
+            if (targetTaken || !creator.isOnline()) {
+                game.transition(GameState.PENDING, GameState.CANCELED);
+                refundStakes(game);
+                if (creator.isOnline()) {
+                    messages.send(creator, "already-exists");
+                }
+                return;
+            }
+            register(game);
+            onCreated.run();
+        });
         return true;
     }
 
@@ -262,6 +328,10 @@ public final class GameService implements Listener {
             messages.send(acceptor, "self-accept");
             return false;
         }
+        if (!economy.available()) {
+            messages.send(acceptor, "economy-unavailable");
+            return false;
+        }
         if (resolvingPlayers.contains(acceptor.getUniqueId())) {
             messages.send(acceptor, "busy");
             return false;
@@ -278,135 +348,399 @@ public final class GameService implements Listener {
             return false;
         }
 
-        game.lock().lock();
-        try {
-            if (game.state() != GameState.PENDING) {
-                messages.send(acceptor, "not-found");
-                return false;
-            }
-            long now = System.currentTimeMillis();
-            if (game.isExpired(now)) {
-                cancelGame(game, CancelReason.EXPIRED);
-                messages.send(acceptor, "expired", Placeholder.parsed("amount", formatAmount(game.amount())));
-                return false;
-            }
+        long now = System.currentTimeMillis();
+        if (game.isExpired(now)) {
+            cancelGame(game, CancelReason.EXPIRED);
+            messages.send(acceptor, "expired", Placeholder.parsed("amount", formatAmount(game.amountMinor())));
+            return false;
+        }
+        if (!game.transition(GameState.PENDING, GameState.RESOLVING)) {
+            messages.send(acceptor, "not-found");
+            return false;
+        }
 
-            if (!economy.hasBalance(acceptor, game.amount())) {
-                messages.send(acceptor, "insufficient-funds");
-                return false;
-            }
-            if (!checkBalanceLimit(acceptor, game.amount())) {
-                return false;
-            }
+        resolvingPlayers.add(creator.getUniqueId());
+        resolvingPlayers.add(acceptor.getUniqueId());
 
-            if (!economy.withdraw(acceptor, game.amount())) {
-                messages.send(acceptor, "insufficient-funds");
-                return false;
-            }
+        game.acceptor(acceptor.getUniqueId());
+        publicIndex.remove(game);
 
-            resolvingPlayers.add(creator.getUniqueId());
-            resolvingPlayers.add(acceptor.getUniqueId());
+        boolean bypass = acceptor.hasPermission("coinflip.bypass.minmax");
+        String creatorName = creator.getName();
+        String acceptorName = acceptor.getName();
+        pipeline(withdrawStake(acceptor, game, bypass), result -> {
+            if (result.status() != StakeStatus.WITHDRAWN) {
+                releasePlayers(game, acceptor.getUniqueId());
+                reopen(game);
+                if (acceptor.isOnline()) {
+                    sendStakeFailure(acceptor, result);
+                }
+                return;
+            }
 
-            game.state(GameState.RESOLVING);
-            game.acceptor(acceptor.getUniqueId());
+            if (creator.isOnline()) {
+                messages.send(creator, "accepted",
+                        Placeholder.parsed("amount", formatAmount(game.amountMinor())),
+                        Placeholder.parsed("other", acceptorName));
+            }
+            if (acceptor.isOnline()) {
+                messages.send(acceptor, "accepted",
+                        Placeholder.parsed("amount", formatAmount(game.amountMinor())),
+                        Placeholder.parsed("other", creatorName));
+            }
 
-            messages.send(creator, "accepted",
-                    Placeholder.parsed("amount", formatAmount(game.amount())),
-                    Placeholder.parsed("other", acceptor.getName()));
-            messages.send(acceptor, "accepted",
-                    Placeholder.parsed("amount", formatAmount(game.amount())),
-                    Placeholder.parsed("other", creator.getName()));
+            resolveGame(game, acceptor.getUniqueId(), creatorName, acceptorName);
+        });
+        return true;
+    }
 
-            resolveGame(game, creator, acceptor);
-            return true;
-        } finally {
-            resolvingPlayers.remove(acceptor.getUniqueId());
-            resolvingPlayers.remove(game.creator());
-            game.lock().unlock();
+    private void reopen(CoinFlipGame game) {
+        game.acceptor(null);
+        if (!game.transition(GameState.RESOLVING, GameState.PENDING)) {
+            return;
+        }
+        if (game.type() == GameType.PUBLIC) {
+            publicIndex.add(game);
+        }
+        expiryWheel.schedule(game.id(), game.expiresAt());
+        if (Bukkit.getPlayer(game.creator()) == null) {
+            cancelGame(game, CancelReason.CREATOR_OFFLINE);
         }
     }
 
-    private void resolveGame(CoinFlipGame game, Player creator, Player acceptor) {
+    private void resolveGame(CoinFlipGame game, UUID acceptorId, String creatorName, String acceptorName) {
         ThreadLocalRandom random = ThreadLocalRandom.current();
         boolean creatorWins = random.nextBoolean();
         long proof = random.nextLong();
-        Player winner = creatorWins ? creator : acceptor;
-        Player loser = creatorWins ? acceptor : creator;
+        UUID winnerId = creatorWins ? game.creator() : acceptorId;
+        UUID loserId = creatorWins ? acceptorId : game.creator();
+        String winnerName = creatorWins ? creatorName : acceptorName;
+        String loserName = creatorWins ? acceptorName : creatorName;
 
         CoinFlipConfig.TaxSettings tax = plugin.config().tax();
-        PayoutCalculator.Payout payout = PayoutCalculator.calculate(game.amount(), tax);
-        double totalPot = payout.totalPot();
-        double winnings = payout.winnings();
-        double taxAmount = payout.taxAmount();
+        PayoutCalculator.Payout payout = PayoutCalculator.calculateMinor(game.amountMinor(), tax);
+        OfflinePlayer winnerAccount = Bukkit.getOfflinePlayer(winnerId);
+        OfflinePlayer creatorAccount = Bukkit.getOfflinePlayer(game.creator());
+        OfflinePlayer acceptorAccount = Bukkit.getOfflinePlayer(acceptorId);
+
+        pipeline(economy.supplyAsync(() -> settle(game, winnerAccount, creatorAccount, acceptorAccount, payout)), outcome -> {
+            releasePlayers(game, acceptorId);
+            unregister(game);
+
+            if (outcome != SettleOutcome.PAID) {
+                messages.notifyStaffRaw("notify-error",
+                        Placeholder.parsed("message", "Failed to pay winnings for game " + game.id()));
+                if (outcome != SettleOutcome.REFUNDED) {
+                    messages.notifyStaffRaw("notify-error",
+                            Placeholder.parsed("message", "Failed to refund stakes for game " + game.id() + refundNote(outcome)));
+                }
+                game.transition(GameState.RESOLVING, GameState.CANCELED);
+                TagResolver amount = Placeholder.parsed("amount", formatAmount(game.amountMinor()));
+                Optional.ofNullable(Bukkit.getPlayer(game.creator())).ifPresent(player -> messages.send(player, "canceled", amount));
+                Optional.ofNullable(Bukkit.getPlayer(acceptorId)).ifPresent(player -> messages.send(player, "canceled", amount));
+                return;
+            }
+            game.transition(GameState.RESOLVING, GameState.COMPLETED);
+            Instant resolvedAt = Instant.now();
+            game.resolvedAt(resolvedAt);
+
+            long winnings = payout.winningsMinor();
+            long taxAmount = payout.taxAmountMinor();
+            long loserLoss = game.amountMinor();
+
+            Player winner = Bukkit.getPlayer(winnerId);
+            Player loser = Bukkit.getPlayer(loserId);
+            if (winner != null) {
+                messages.send(winner, "resolved-win",
+                        Placeholder.parsed("won", formatAmount(winnings)),
+                        Placeholder.parsed("tax", formatAmount(taxAmount)));
+                playSound(winner, plugin.config().ui().sounds().win());
+            }
+            if (loser != null) {
+                messages.send(loser, "resolved-lose",
+                        Placeholder.parsed("lost", formatAmount(loserLoss)));
+                playSound(loser, plugin.config().ui().sounds().lose());
+            }
+
+            announcer.resolved(winnerName, loserName, payout.totalPotMinor(), formatAmount(payout.totalPotMinor()));
+
+            stats.recordResult(winnerId, loserId, winnings, loserLoss, game.amountMinor());
+            history.record(game.id(), game.creator(), acceptorId, winnerId, game.amountMinor(), taxAmount, proof,
+                    resolvedAt.toEpochMilli());
 
-        if (!economy.deposit(winner, winnings)) {
+            String logMessage = "CoinFlip resolved: " + creatorName + " vs " + acceptorName
+                    + ", winner=" + winnerName + ", amount=" + Money.toMajor(game.amountMinor())
+                    + ", tax=" + Money.toMajor(taxAmount)
+                    + ", proof=" + proof
+                    + ", timestamp=" + resolvedAt;
+            plugin.getLogger().info(logMessage);
+        });
+    }
+
+    private SettleOutcome settle(CoinFlipGame game, OfflinePlayer winner, OfflinePlayer creator, OfflinePlayer acceptor,
+                                 PayoutCalculator.Payout payout) {
+        if (!game.escrow().transition(EscrowState.WITHDRAWN, EscrowState.SETTLED)) {
+            return SettleOutcome.ESCROW_CONFLICT;
+        }
+        if (!journal.settling(game.id(), winner.getUniqueId(), payout.winningsMinor())) {
+            plugin.getLogger().severe("Paying game " + game.id() + " before the escrow journal recorded it; "
+                    + "a crash now would refund its stakes on top of the payout.");
+        }
+        if (!depositQuietly(winner, payout.winningsMinor())) {
             // Refund both players and abort
-            economy.deposit(creator, game.amount());
-            economy.deposit(acceptor, game.amount());
-            messages.notifyStaffRaw("notify-error",
-                    Placeholder.parsed("message", "Failed to pay winnings for game " + game.id()));
-            messages.send(creator, "canceled", Placeholder.parsed("amount", formatAmount(game.amount())));
-            messages.send(acceptor, "canceled", Placeholder.parsed("amount", formatAmount(game.amount())));
-            game.state(GameState.CANCELED);
-            gamesById.remove(game.id());
-            activeByCreator.remove(game.creator());
-            game.target().ifPresent(privateByTarget::remove);
-            return;
+            game.escrow().transition(EscrowState.SETTLED, EscrowState.REFUNDED);
+            RefundResult result = refundQuietly(game.id(), creator, game.amountMinor())
+                    .worse(refundQuietly(game.id(), acceptor, game.amountMinor()));
+            if (result != RefundResult.LOST) {
+                journal.refunded(game.id());
+            }
+            return switch (result) {
+                case PAID -> SettleOutcome.REFUNDED;
+                case QUEUED -> SettleOutcome.REFUND_QUEUED;
+                case LOST -> SettleOutcome.REFUND_LOST;
+            };
+        }
+        ledger.record(game.id(), EscrowLedger.Flow.PAYOUT, payout.winningsMinor());
+        journal.settled(game.id());
+        taxSink.accrue(game.id(), payout.taxAmountMinor());
+        return SettleOutcome.PAID;
+    }
+
+    private void register(CoinFlipGame game) {
+        gamesById.put(game.id(), game);
+        activeByCreator.put(game.creator(), game.id());
+        game.target().ifPresent(targetId -> privateByTarget.put(targetId, game.id()));
+        if (game.type() == GameType.PUBLIC) {
+            publicIndex.add(game);
         }
+        expiryWheel.schedule(game.id(), game.expiresAt());
+    }
 
-        handleTaxSink(tax, taxAmount);
+    private void unregister(CoinFlipGame game) {
+        gamesById.remove(game.id());
+        activeByCreator.remove(game.creator(), game.id());
+        game.target().ifPresent(targetId -> privateByTarget.remove(targetId, game.id()));
+        publicIndex.remove(game);
+        expiryWheel.cancel(game.id());
+    }
 
-        game.state(GameState.COMPLETED);
-        game.resolvedAt(Instant.now());
+    private void releasePlayers(CoinFlipGame game, UUID acceptorId) {
+        resolvingPlayers.remove(acceptorId);
+        resolvingPlayers.remove(game.creator());
+    }
 
-        gamesById.remove(game.id());
-        activeByCreator.remove(game.creator());
-        game.target().ifPresent(privateByTarget::remove);
+    private CompletableFuture<StakeResult> withdrawStake(Player player, CoinFlipGame game, boolean bypass) {
+        CoinFlipConfig.EconomySettings economySettings = plugin.config().economy();
+        long amount = game.amountMinor();
+        return economy.supplyAsync(() -> {
+            try {
+                // One snapshot serves both checks; only the withdrawal itself has to reach Vault.
+                double balance = economy.currentBalance(player);
+                if (balance < Money.toMajor(amount)) {
+                    return new StakeResult(StakeStatus.INSUFFICIENT_FUNDS, 0D);
+                }
+                if (!bypass) {
+                    double maxAllowed = BetUtil.maxBalanceBet(balance, economySettings);
+                    if (Money.toMajor(amount) > maxAllowed) {
+                        return new StakeResult(StakeStatus.BALANCE_LIMIT, maxAllowed);
+                    }
+                }
+                if (!economy.withdraw(player, amount)) {
+                    return new StakeResult(StakeStatus.INSUFFICIENT_FUNDS, 0D);
+                }
+                ledger.record(game.id(), EscrowLedger.Flow.STAKE, amount);
+                boolean creator = player.getUniqueId().equals(game.creator());
+                if (!(creator ? journal.created(game) : journal.accepted(game, player.getUniqueId()))) {
+                    returnUnjournaledStake(player, game, creator);
+                    return new StakeResult(StakeStatus.UNJOURNALED, 0D);
+                }
+                game.escrow().stakeWithdrawn();
+                return new StakeResult(StakeStatus.WITHDRAWN, 0D);
+            } catch (RuntimeException ex) {
+                plugin.getLogger().severe("Economy provider failed to withdraw stake for game " + game.id() + ": " + ex.getMessage());
+                return new StakeResult(StakeStatus.FAILED, 0D);
+            }
+        });
+    }
+
+    // A stake the journal could not record would be lost by a crash, so it goes straight back instead of into the game.
+    private void returnUnjournaledStake(Player player, CoinFlipGame game, boolean creator) {
+        if (creator) {
+            journal.refunded(game.id());
+        } else {
+            journal.repaid(game.id(), player.getUniqueId());
+        }
+        long amount = game.amountMinor();
+        if (depositQuietly(player, amount)) {
+            ledger.record(game.id(), EscrowLedger.Flow.REFUND, amount);
+        } else if (!outbox.enqueue(game.id(), player.getUniqueId(), amount, "Stake return deposit failed")) {
+            plugin.getLogger().severe("Lost " + Money.toMajor(amount) + " owed to " + player.getName() + " for game "
+                    + game.id() + "; neither the economy nor the outbox accepted it.");
+        }
+    }
+
+    private void refundStakes(CoinFlipGame game) {
+        if (!game.escrow().transition(EscrowState.WITHDRAWN, EscrowState.REFUNDED)) {
+            return;
+        }
+        UUID acceptor = game.escrow().stakes() > 1 ? game.acceptor().orElse(null) : null;
+        refund(game.id(), game.creator(), acceptor, game.amountMinor(), result -> {
+            if (result != RefundResult.PAID) {
+                messages.notifyStaffRaw("notify-error",
+                        Placeholder.parsed("message", "Failed to refund canceled game " + game.id() + refundNote(result)));
+            }
+        });
+    }
+
+    private void recoverOrphan(EscrowJournal.OpenStake stake) {
+        if (stake.winner() != null) {
+            recoverSettling(stake);
+            return;
+        }
+        if (stake.owedMinor() == 0L) {
+            // Every share was repaid; only the closing record was lost.
+            journal.refunded(stake.gameId());
+            return;
+        }
+        ledger.record(stake.gameId(), EscrowLedger.Flow.RECOVERED, stake.owedMinor());
+        UUID creator = stake.creatorRepaid() ? null : stake.creator();
+        refund(stake.gameId(), creator, stake.acceptor(), stake.amountMinor(), result -> {
+            if (result == RefundResult.PAID) {
+                plugin.getLogger().warning("Refunded coinflip " + stake.gameId() + " left open by a previous run.");
+                return;
+            }
+            plugin.getLogger().severe("Failed to refund coinflip " + stake.gameId() + " left open by a previous run.");
+            messages.notifyStaffRaw("notify-error",
+                    Placeholder.parsed("message", "Failed to refund orphaned game " + stake.gameId() + refundNote(result)));
+        });
+    }
 
-        double loserLoss = game.amount();
+    // The winner may already have been paid, so the payout waits as a claimed outbox credit for an admin to check.
+    private void recoverSettling(EscrowJournal.OpenStake stake) {
+        long pot = stake.amountMinor() * 2L;
+        ledger.record(stake.gameId(), EscrowLedger.Flow.RECOVERED, pot);
+        if (!outbox.park(stake.gameId(), stake.winner(), stake.payoutMinor(), "Server stopped while paying the winner")) {
+            plugin.getLogger().severe("Failed to park the interrupted payout of coinflip " + stake.gameId()
+                    + "; it stays in the escrow journal.");
+            return;
+        }
+        taxSink.accrue(stake.gameId(), pot - stake.payoutMinor());
+        journal.settled(stake.gameId());
+        messages.notifyStaffRaw("notify-error", Placeholder.parsed("message", "Coinflip " + stake.gameId()
+                + " was mid-payout when the server stopped; check the winner's balance, then /cf outbox settle or dismiss"));
+    }
 
-        messages.send(winner, "resolved-win",
-                Placeholder.parsed("won", formatAmount(winnings)),
-                Placeholder.parsed("tax", formatAmount(taxAmount)));
-        messages.send(loser, "resolved-lose",
-                Placeholder.parsed("lost", formatAmount(loserLoss)));
+    // Either player may be null when their share is already back with them.
+    private void refund(UUID gameId, UUID creatorId, UUID acceptorId, long amount, Consumer<RefundResult> onMainThread) {
+        OfflinePlayer creator = creatorId != null ? Bukkit.getOfflinePlayer(creatorId) : null;
+        OfflinePlayer acceptor = acceptorId != null ? Bukkit.getOfflinePlayer(acceptorId) : null;
+        pipeline(economy.supplyAsync(() -> {
+            RefundResult result = RefundResult.PAID;
+            if (creator != null) {
+                result = result.worse(refundQuietly(gameId, creator, amount));
+            }
+            if (acceptor != null) {
+                result = result.worse(refundQuietly(gameId, acceptor, amount));
+            }
+            // A lost share keeps the stake open so the orphan recovery at the next start retries it.
+            if (result != RefundResult.LOST) {
+                journal.refunded(gameId);
+            }
+            return result;
+        }), onMainThread);
+    }
+
+    private boolean depositQuietly(OfflinePlayer player, long amount) {
+        try {
+            return economy.deposit(player, amount);
+        } catch (RuntimeException ex) {
+            plugin.getLogger().severe("Economy provider failed to deposit " + Money.toMajor(amount) + ": " + ex.getMessage());
+            return false;
+        }
+    }
 
-        messages.broadcast("broadcast-result",
-                Placeholder.parsed("w", winner.getName()),
-                Placeholder.parsed("l", loser.getName()),
-                Placeholder.parsed("pot", formatAmount(totalPot)));
+    // A refused refund is parked in the outbox for retry; only when that insert fails too is the share lost to this run.
+    // The share is marked repaid before any money moves, so a crash in between never pays it twice.
+    private RefundResult refundQuietly(UUID gameId, OfflinePlayer player, long amount) {
+        UUID playerId = player.getUniqueId();
+        if (!journal.repaid(gameId, playerId)) {
+            plugin.getLogger().severe("Refunding " + playerId + " for game " + gameId + " before the escrow journal recorded it.");
+        }
+        if (depositQuietly(player, amount)) {
+            ledger.record(gameId, EscrowLedger.Flow.REFUND, amount);
+            return RefundResult.PAID;
+        }
+        if (outbox.enqueue(gameId, playerId, amount, "Refund deposit failed")) {
+            return RefundResult.QUEUED;
+        }
+        journal.owed(gameId, playerId);
+        return RefundResult.LOST;
+    }
 
-        playSound(winner, plugin.config().ui().sounds().win());
-        playSound(loser, plugin.config().ui().sounds().lose());
+    private static String refundNote(Enum<?> outcome) {
+        if (outcome == RefundResult.QUEUED || outcome == SettleOutcome.REFUND_QUEUED) {
+            return "; queued for retry, see /cf outbox list";
+        }
+        if (outcome == RefundResult.LOST || outcome == SettleOutcome.REFUND_LOST) {
+            return "; the outbox was unavailable, so it is retried on the next restart";
+        }
+        return "";
+    }
 
-        stats.recordResult(winner.getUniqueId(), loser.getUniqueId(), winnings, loserLoss);
+    private <T> void pipeline(CompletableFuture<T> stage, Consumer<T> onMainThread) {
+        inFlight.incrementAndGet();
+        stage.thenAcceptAsync(onMainThread, mainThread)
+                .whenComplete((ignored, error) -> {
+                    inFlight.decrementAndGet();
+                    if (error != null) {
+                        plugin.getLogger().severe("CoinFlip transaction stage failed: " + error.getMessage());
+                    }
+                });
+    }
 
-        String logMessage = "CoinFlip resolved: " + creator.getName() + " vs " + acceptor.getName()
-                + ", winner=" + winner.getName() + ", amount=" + game.amount()
-                + ", tax=" + taxAmount
-                + ", proof=" + proof
-                + ", timestamp=" + Instant.now();
-        plugin.getLogger().info(logMessage);
+    private void awaitInFlight() {
+        long deadline = System.currentTimeMillis() + SHUTDOWN_TIMEOUT_MILLIS;
+        while (inFlight.get() > 0 && System.currentTimeMillis() < deadline) {
+            mainThread.drain();
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5L));
+        }
+        mainThread.drain();
+        if (inFlight.get() > 0) {
+            plugin.getLogger().severe(inFlight.get() + " coinflip transactions were still in flight at shutdown.");
+        }
     }
 
-    private void handleTaxSink(CoinFlipConfig.TaxSettings tax, double taxAmount) {
-        if (!tax.enabled() || taxAmount <= 0) {
+    private void sendStakeFailure(Player player, StakeResult result) {
+        if (result.status() == StakeStatus.BALANCE_LIMIT) {
+            CoinFlipConfig.EconomySettings economySettings = plugin.config().economy();
+            messages.send(player, "balance-limit",
+                    Placeholder.parsed("percent", formatPercent(economySettings.maxBalancePercent())),
+                    Placeholder.parsed("max", economy.formatNumber(result.maxAllowed())));
             return;
         }
-        if ("server".equalsIgnoreCase(tax.recipient())) {
+        if (result.status() == StakeStatus.UNJOURNALED) {
+            messages.notifyStaffRaw("notify-error",
+                    Placeholder.parsed("message", "Escrow journal could not record a stake from " + player.getName()
+                            + "; it was returned and new coinflips fail until the journal can be written"));
+            messages.send(player, "escrow-unavailable");
             return;
         }
-        OfflinePlayer recipient = economy.offlinePlayer(tax.recipient());
-        if (!economy.deposit(recipient, taxAmount)) {
+        if (result.status() == StakeStatus.FAILED) {
             messages.notifyStaffRaw("notify-error",
-                    Placeholder.parsed("message", "Failed to deposit tax to " + tax.recipient()));
+                    Placeholder.parsed("message", "Economy provider failed while withdrawing from " + player.getName()));
         }
+        messages.send(player, "insufficient-funds");
     }
 
     private void tickExpiry() {
         long now = System.currentTimeMillis();
-        for (CoinFlipGame game : new ArrayList<>(gamesById.values())) {
-            if (game.isExpired(now)) {
+        List<UUID> due = expiryWheel.advance(now);
+        if (due.size() >= EXPIRY_STORM_THRESHOLD) {
+            plugin.getLogger().warning("Expiring " + due.size() + " coinflips in a single tick");
+        }
+        for (UUID id : due) {
+            CoinFlipGame game = gamesById.get(id);
+            if (game != null && game.isExpired(now)) {
                 cancelGame(game, CancelReason.EXPIRED);
             }
         }
@@ -421,7 +755,7 @@ public final class GameService implements Listener {
 
     private void notifyCancellation(CoinFlipGame game, CancelReason reason) {
         Player creator = Bukkit.getPlayer(game.creator());
-        TagResolver amount = Placeholder.parsed("amount", formatAmount(game.amount()));
+        TagResolver amount = Placeholder.parsed("amount", formatAmount(game.amountMinor()));
         switch (reason) {
             case EXPIRED -> {
                 if (creator != null) {
@@ -479,30 +813,37 @@ public final class GameService implements Listener {
         ));
     }
 
-    private String formatAmount(double amount) {
-        return economy.formatNumber(amount);
+    private String formatAmount(long amount) {
+        return economy.formatMoney(amount);
     }
 
-    private void broadcastCreatedGame(Player creator, double amount) {
-        CoinFlipConfig.BroadcastSettings broadcast = plugin.config().broadcast();
-        if (!broadcast.enabled()) {
-            return;
-        }
-        String template = broadcast.message();
-        if (template == null || template.isBlank()) {
-            return;
-        }
+    private enum StakeStatus {
+        WITHDRAWN,
+        INSUFFICIENT_FUNDS,
+        BALANCE_LIMIT,
+        FAILED,
+        UNJOURNALED
+    }
 
-        String formattedAmount = formatAmount(amount);
-        String resolved = template
-                .replace("%player%", creator.getName())
-                .replace("%amount%", formattedAmount);
+    private record StakeResult(StakeStatus status, double maxAllowed) {
+    }
 
-        Component message = messages.component("prefix").append(messages.parse(resolved,
-                Placeholder.parsed("player", creator.getName()),
-                Placeholder.parsed("amount", formattedAmount)
-        ));
-        messages.broadcast(message);
+    private enum SettleOutcome {
+        PAID,
+        REFUNDED,
+        REFUND_QUEUED,
+        REFUND_LOST,
+        ESCROW_CONFLICT
+    }
+
+    private enum RefundResult {
+        PAID,
+        QUEUED,
+        LOST;
+
+        RefundResult worse(RefundResult other) {
+            return other.ordinal() > ordinal() ? other : this;
+        }
     }
 
     private enum CancelReason {
@@ -525,21 +866,6 @@ public final class GameService implements Listener {
         }
     }
 
-    private boolean checkBalanceLimit(Player player, double amount) {
-        if (player.hasPermission("coinflip.bypass.minmax")) {
-            return true;
-        }
-        CoinFlipConfig.EconomySettings economySettings = plugin.config().economy();
-        double maxAllowed = BetUtil.maxBalanceBet(economy.balance(player), economySettings);
-        if (amount <= maxAllowed) {
-            return true;
-        }
-        messages.send(player, "balance-limit",
-                Placeholder.parsed("percent", formatPercent(economySettings.maxBalancePercent())),
-                Placeholder.parsed("max", formatAmount(maxAllowed)));
-        return false;
-    }
-
     private String formatPercent(double percent) {
         return economy.formatNumber(percent);
     }
@@ -0,0 +1,75 @@
+package com.yourorg.coinflip.game;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+final class PublicGameIndex {
+
+    private final ConcurrentSkipListMap<Key, CoinFlipGame> games = new ConcurrentSkipListMap<>();
+    private final AtomicLong version = new AtomicLong();
+
+    private volatile Snapshot snapshot = new Snapshot(0L, List.of());
+
+    void add(CoinFlipGame game) {
+        games.put(Key.of(game), game);
+        version.incrementAndGet();
+    }
+
+    void remove(CoinFlipGame game) {
+        if (games.remove(Key.of(game)) != null) {
+            version.incrementAndGet();
+        }
+    }
+
+    void clear() {
+        games.clear();
+        version.incrementAndGet();
+    }
+
+    int size() {
+        return games.size();
+    }
+
+    long version() {
+        return version.get();
+    }
+
+    List<CoinFlipGame> snapshot() {
+        Snapshot current = snapshot;
+        long expected = version.get();
+        if (current.version() == expected) {
+            return current.games();
+        }
+        // Tag with the version read before copying so a concurrent change forces another rebuild.
+        List<CoinFlipGame> copy = List.copyOf(games.values());
+        snapshot = new Snapshot(expected, copy);
+        return copy;
+    }
+
+    // Walks the live map instead of copying it, so a page costs its offset plus its size.
+    List<CoinFlipGame> page(int offset, int limit) {
+        if (offset < 0 || limit <= 0) {
+            return Collections.emptyList();
+        }
+        return games.values().stream().skip(offset).limit(limit).toList();
+    }
+
+    private record Snapshot(long version, List<CoinFlipGame> games) {
+    }
+
+    private record Key(long createdAt, UUID id) implements Comparable<Key> {
+
+        static Key of(CoinFlipGame game) {
+            return new Key(game.createdAt(), game.id());
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            int byTime = Long.compare(createdAt, other.createdAt);
+            return byTime != 0 ? byTime : id.compareTo(other.id);
+        }
+    }
+}
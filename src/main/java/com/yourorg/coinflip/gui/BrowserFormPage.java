@@ -0,0 +1,23 @@
+package com.yourorg.coinflip.gui;
+
+import com.yourorg.coinflip.game.CoinFlipGame;
+
+import java.util.List;
+
+// Immutable, so one instance serves every Bedrock viewer of the page until the index or the countdown second moves.
+record BrowserFormPage(
+        int page,
+        long indexVersion,
+        long second,
+        String content,
+        List<String> buttons,
+        List<CoinFlipGame> games,
+        int previousIndex,
+        int helpIndex,
+        int refreshIndex,
+        int nextIndex) {
+
+    boolean isCurrent(long indexVersion, long second) {
+        return this.indexVersion == indexVersion && this.second == second;
+    }
+}
@@ -4,9 +4,12 @@ import com.yourorg.coinflip.CoinFlipPlugin;
 import com.yourorg.coinflip.config.CoinFlipConfig;
 import com.yourorg.coinflip.game.CoinFlipGame;
 import com.yourorg.coinflip.game.GameService;
-import com.yourorg.coinflip.game.GameType;
+import com.yourorg.coinflip.profile.ProfileService;
+import com.yourorg.coinflip.stats.LeaderboardEntry;
+import com.yourorg.coinflip.stats.LeaderboardMetric;
 import com.yourorg.coinflip.util.InventoryUtil;
 import com.yourorg.coinflip.util.ItemMetaUtil;
+import com.yourorg.coinflip.util.Money;
 import com.yourorg.coinflip.util.HelpUtil;
 import com.yourorg.coinflip.util.TimeUtil;
 import net.kyori.adventure.key.Key;
@@ -16,7 +19,7 @@ import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
-import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.HumanEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
@@ -28,26 +31,54 @@ import org.bukkit.inventory.InventoryHolder;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.inventory.meta.SkullMeta;
+import org.bukkit.scheduler.BukkitTask;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 public final class GuiService implements Listener {
 
     private final CoinFlipPlugin plugin;
     private final GameService gameService;
+    private final ListingItemCache listings;
+
+    private final Map<Integer, BrowserInventory> livePages = new HashMap<>();
+    private final Map<Integer, BrowserFormPage> formPages = new HashMap<>();
+
+    private BrowserControls controls;
+    private BukkitTask liveTicker;
+    private boolean refreshQueued;
+    private long formPagesVersion = -1L;
 
     public GuiService(CoinFlipPlugin plugin) {
         this.plugin = plugin;
         this.gameService = plugin.gameService();
+        this.listings = new ListingItemCache(plugin, this::awaitProfile);
+        this.controls = BrowserControls.build();
     }
 
     public void registerListeners() {
         Bukkit.getPluginManager().registerEvents(this, plugin);
     }
 
+    public void reload() {
+        this.controls = BrowserControls.build();
+        listings.clear();
+        formPages.clear();
+        // Row count may have changed, so shared pages are rebuilt on next open.
+        for (BrowserInventory page : livePages.values()) {
+            new ArrayList<>(page.getInventory().getViewers()).forEach(HumanEntity::closeInventory);
+        }
+        livePages.clear();
+    }
+
     public void openBrowser(Player player) {
         openBrowser(player, 0);
     }
@@ -57,15 +88,77 @@ public final class GuiService implements Listener {
             return;
         }
         Bukkit.getScheduler().runTask(plugin, () -> {
-            BrowserInventory holder = new BrowserInventory(page);
-            Inventory inventory = InventoryUtil.createInventory(holder, holder.size(), Component.text("CoinFlip Browser"));
-            holder.populate(inventory, player);
-            player.openInventory(inventory);
+            BrowserInventory holder = plugin.config().ui().browser().live()
+                    ? livePage(page)
+                    : createBrowser(page, false);
+            holder.render();
+            player.openInventory(holder.getInventory());
             playSound(player, plugin.config().ui().sounds().open());
         });
     }
 
-    public void openCreateConfirm(Player player, double amount) {
+    private BrowserInventory createBrowser(int page, boolean shared) {
+        BrowserInventory holder = new BrowserInventory(page, shared);
+        holder.attach(InventoryUtil.createInventory(holder, holder.size(), Component.text("CoinFlip Browser")));
+        return holder;
+    }
+
+    private BrowserInventory livePage(int page) {
+        BrowserInventory holder = livePages.computeIfAbsent(Math.max(page, 0), index -> createBrowser(index, true));
+        if (liveTicker == null) {
+            this.liveTicker = Bukkit.getScheduler().runTaskTimer(plugin, this::tickLivePages, 20L, 20L);
+        }
+        return holder;
+    }
+
+    // One render per watched page per second; viewers of a page all see the same inventory.
+    private void tickLivePages() {
+        livePages.values().removeIf(page -> page.getInventory().getViewers().isEmpty());
+        livePages.values().forEach(BrowserInventory::render);
+        if (livePages.isEmpty() && liveTicker != null) {
+            liveTicker.cancel();
+            liveTicker = null;
+        }
+    }
+
+    // Items built before a profile is known carry a plain head; rebuild them once the lookup lands.
+    private void awaitProfile(UUID playerId) {
+        CompletableFuture<?> lookup = plugin.profileService().resolve(playerId);
+        if (lookup.isDone()) {
+            return;
+        }
+        lookup.thenRun(() -> Bukkit.getScheduler().runTask(plugin, () -> profileResolved(playerId)));
+    }
+
+    private void profileResolved(UUID playerId) {
+        listings.invalidate(playerId);
+        formPages.clear();
+        if (refreshQueued) {
+            return;
+        }
+        // Heads tend to resolve in bursts; one pass on the next tick covers all of them.
+        refreshQueued = true;
+        Bukkit.getScheduler().runTask(plugin, this::refreshOpenViews);
+    }
+
+    private void refreshOpenViews() {
+        refreshQueued = false;
+        Set<InventoryHolder> refreshed = new HashSet<>();
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            Inventory top = player.getOpenInventory().getTopInventory();
+            InventoryHolder holder = top.getHolder();
+            if (holder == null || !refreshed.add(holder)) {
+                continue;
+            }
+            if (holder instanceof BrowserInventory browser) {
+                browser.render();
+            } else if (holder instanceof LeaderboardInventory leaderboard) {
+                leaderboard.populate(top);
+            }
+        }
+    }
+
+    public void openCreateConfirm(Player player, long amount) {
         if (plugin.geyserUtil().isBedrockPlayer(player) && openCreateConfirmForm(player, amount)) {
             return;
         }
@@ -91,6 +184,27 @@ public final class GuiService implements Listener {
         });
     }
 
+    public void openLeaderboard(Player player, LeaderboardMetric metric, int page) {
+        if (plugin.geyserUtil().isBedrockPlayer(player) && openLeaderboardForm(player, metric, page)) {
+            return;
+        }
+        Bukkit.getScheduler().runTask(plugin, () -> {
+            LeaderboardInventory holder = new LeaderboardInventory(metric, page);
+            Inventory inventory = InventoryUtil.createInventory(holder, LeaderboardInventory.SIZE,
+                    Component.text("CoinFlip Top " + metric.displayName()));
+            holder.populate(inventory);
+            player.openInventory(inventory);
+            playSound(player, plugin.config().ui().sounds().open());
+        });
+    }
+
+    public String formatLeaderboardValue(LeaderboardMetric metric, double value) {
+        if (metric == LeaderboardMetric.WINS) {
+            return String.valueOf((long) value);
+        }
+        return plugin.economyService().formatCurrency(metric.money() ? Money.toMajor((long) value) : value);
+    }
+
     public void openHelp(Player player, int returnPage) {
         if (plugin.geyserUtil().isBedrockPlayer(player) && openHelpForm(player, returnPage)) {
             return;
@@ -137,80 +251,91 @@ public final class GuiService implements Listener {
     }
 
     private boolean openBrowserForm(Player player, int page) {
-        List<CoinFlipGame> games = gameService.listPublicGames();
-        CoinFlipConfig.BrowserSettings browser = plugin.config().ui().browser();
-        int perPage = Math.max(1, browser.itemsPerPage());
-        int start = page * perPage;
-        int end = Math.min(start + perPage, games.size());
+        BrowserFormPage form = browserFormPage(Math.max(page, 0));
+        return plugin.geyserUtil().sendSimpleForm(player.getUniqueId(),
+                "CoinFlip Browser",
+                form.content(),
+                form.buttons(),
+                index -> {
+                    if (!player.isOnline()) {
+                        return;
+                    }
+                    if (index < form.games().size()) {
+                        openAcceptConfirm(player, form.games().get(index));
+                        return;
+                    }
+                    if (index == form.previousIndex()) {
+                        openBrowser(player, form.page() - 1);
+                        return;
+                    }
+                    if (index == form.nextIndex()) {
+                        openBrowser(player, form.page() + 1);
+                        return;
+                    }
+                    if (index == form.helpIndex()) {
+                        openHelp(player, form.page());
+                        return;
+                    }
+                    if (index == form.refreshIndex()) {
+                        openBrowser(player, form.page());
+                    }
+                });
+    }
 
-        List<CoinFlipGame> pageGames = new ArrayList<>();
+    private BrowserFormPage browserFormPage(int page) {
+        long version = gameService.publicIndexVersion();
+        long now = System.currentTimeMillis();
+        long second = now / 1000L;
+        if (version != formPagesVersion) {
+            formPages.clear();
+            formPagesVersion = version;
+        }
+        BrowserFormPage cached = formPages.get(page);
+        if (cached != null && cached.isCurrent(version, second)) {
+            return cached;
+        }
+        BrowserFormPage built = buildBrowserFormPage(page, version, second, now);
+        formPages.put(page, built);
+        return built;
+    }
+
+    private BrowserFormPage buildBrowserFormPage(int page, long version, long second, long now) {
+        int perPage = Math.max(1, plugin.config().ui().browser().itemsPerPage());
+        int start = page * perPage;
+        List<CoinFlipGame> games = gameService.listPublicGames(start, perPage);
         List<String> buttons = new ArrayList<>();
         String content;
-        if (start >= games.size()) {
+        if (games.isEmpty()) {
             content = "No active coinflips.";
         } else {
             content = "Select a coinflip to accept.";
-            for (int i = start; i < end; i++) {
-                CoinFlipGame game = games.get(i);
-                pageGames.add(game);
+            for (CoinFlipGame game : games) {
                 String creatorName = resolvePlayerName(game.creator());
-                String amount = plugin.economyService().formatCurrency(game.amount());
-                String remaining = TimeUtil.formatSecondsRemaining(game.expiresAt() - System.currentTimeMillis());
+                String amount = plugin.economyService().formatCurrency(game.amountMinor());
+                String remaining = TimeUtil.formatSecondsRemaining(game.expiresAt() - now);
                 buttons.add(creatorName + " - " + amount + " (" + remaining + ")");
             }
         }
 
-        int prevIndex = -1;
-        int helpIndex;
+        int previousIndex = -1;
         int nextIndex = -1;
         if (page > 0) {
-            prevIndex = buttons.size();
+            previousIndex = buttons.size();
             buttons.add("Previous Page");
         }
-        helpIndex = buttons.size();
+        int helpIndex = buttons.size();
         buttons.add("Help");
         int refreshIndex = buttons.size();
         buttons.add("Refresh");
-        if (end < games.size()) {
+        if (start + perPage < gameService.publicGameCount()) {
             nextIndex = buttons.size();
             buttons.add("Next Page");
         }
-        final int prevIndexFinal = prevIndex;
-        final int helpIndexFinal = helpIndex;
-        final int nextIndexFinal = nextIndex;
-        final int refreshIndexFinal = refreshIndex;
-
-        return plugin.geyserUtil().sendSimpleForm(player.getUniqueId(),
-                "CoinFlip Browser",
-                content,
-                buttons,
-                index -> {
-                    if (!player.isOnline()) {
-                        return;
-                    }
-                    if (index < pageGames.size()) {
-                        openAcceptConfirm(player, pageGames.get(index));
-                        return;
-                    }
-                    if (index == prevIndexFinal) {
-                        openBrowser(player, page - 1);
-                        return;
-                    }
-                    if (index == nextIndexFinal) {
-                        openBrowser(player, page + 1);
-                        return;
-                    }
-                    if (index == helpIndexFinal) {
-                        openHelp(player, page);
-                        return;
-                    }
-                    if (index == refreshIndexFinal) {
-                        openBrowser(player, page);
-                    }
-                });
+        return new BrowserFormPage(page, version, second, content, List.copyOf(buttons), List.copyOf(games),
+                previousIndex, helpIndex, refreshIndex, nextIndex);
     }
 
-    private boolean openCreateConfirmForm(Player player, double amount) {
+    private boolean openCreateConfirmForm(Player player, long amount) {
         String amountText = plugin.economyService().formatCurrency(amount);
         return plugin.geyserUtil().sendModalForm(player.getUniqueId(),
                 "Confirm CoinFlip",
@@ -228,7 +353,7 @@ public final class GuiService implements Listener {
 
     private boolean openAcceptConfirmForm(Player player, CoinFlipGame game) {
         String creatorName = resolvePlayerName(game.creator());
-        String amountText = plugin.economyService().formatCurrency(game.amount());
+        String amountText = plugin.economyService().formatCurrency(game.amountMinor());
         return plugin.geyserUtil().sendModalForm(player.getUniqueId(),
                 "Accept CoinFlip",
                 "Accept coinflip vs " + creatorName + " for " + amountText + "?",
@@ -247,6 +372,69 @@ public final class GuiService implements Listener {
                 });
     }
 
+    private boolean openLeaderboardForm(Player player, LeaderboardMetric metric, int page) {
+        int perPage = LeaderboardInventory.PER_PAGE;
+        int total = plugin.statsService().leaderboardSize(metric);
+        List<LeaderboardEntry> entries = plugin.statsService().leaderboard(metric, page * perPage, perPage);
+        StringBuilder content = new StringBuilder("Top " + metric.displayName() + ":");
+        if (entries.isEmpty()) {
+            content.append("\nNo ranked players yet.");
+        }
+        for (LeaderboardEntry entry : entries) {
+            content.append('\n').append('#').append(entry.rank()).append(' ')
+                    .append(resolvePlayerName(entry.playerId())).append(" - ")
+                    .append(formatLeaderboardValue(metric, entry.value()));
+        }
+
+        List<String> buttons = new ArrayList<>();
+        List<LeaderboardMetric> metrics = new ArrayList<>();
+        for (LeaderboardMetric option : LeaderboardMetric.values()) {
+            if (option != metric) {
+                metrics.add(option);
+                buttons.add("Top " + option.displayName());
+            }
+        }
+        int prevIndex = -1;
+        int nextIndex = -1;
+        if (page > 0) {
+            prevIndex = buttons.size();
+            buttons.add("Previous Page");
+        }
+        if ((page + 1) * perPage < total) {
+            nextIndex = buttons.size();
+            buttons.add("Next Page");
+        }
+        int browserIndex = buttons.size();
+        buttons.add("Back to Browser");
+        final int prevIndexFinal = prevIndex;
+        final int nextIndexFinal = nextIndex;
+
+        return plugin.geyserUtil().sendSimpleForm(player.getUniqueId(),
+                "CoinFlip Top " + metric.displayName(),
+                content.toString(),
+                buttons,
+                index -> {
+                    if (!player.isOnline()) {
+                        return;
+                    }
+                    if (index < metrics.size()) {
+                        openLeaderboard(player, metrics.get(index), 0);
+                        return;
+                    }
+                    if (index == prevIndexFinal) {
+                        openLeaderboard(player, metric, page - 1);
+                        return;
+                    }
+                    if (index == nextIndexFinal) {
+                        openLeaderboard(player, metric, page + 1);
+                        return;
+                    }
+                    if (index == browserIndex) {
+                        openBrowser(player, 0);
+                    }
+                });
+    }
+
     private boolean openHelpForm(Player player, int returnPage) {
         List<String> lines = HelpUtil.lines(isAdmin(player));
         String content = String.join("\n", lines);
@@ -262,8 +450,7 @@ public final class GuiService implements Listener {
     }
 
     private String resolvePlayerName(UUID playerId) {
-        OfflinePlayer creator = Bukkit.getOfflinePlayer(playerId);
-        return creator.getName() != null ? creator.getName() : "Unknown";
+        return plugin.profileService().nameOrUnknown(playerId);
     }
 
     private interface CoinFlipInventory extends InventoryHolder {
@@ -275,10 +462,15 @@ public final class GuiService implements Listener {
 
     private final class BrowserInventory implements CoinFlipInventory {
 
-        private final int page;
+        private final boolean shared;
+        private int page;
+        private Inventory inventory;
+        // The stacks last handed to the inventory; cached items keep their identity until they change.
+        private ItemStack[] rendered;
 
-        BrowserInventory(int page) {
+        BrowserInventory(int page, boolean shared) {
             this.page = Math.max(page, 0);
+            this.shared = shared;
         }
 
         int size() {
@@ -288,118 +480,240 @@ public final class GuiService implements Listener {
 
         @Override
         public Inventory getInventory() {
-            return null;
+            return inventory;
         }
 
-        void populate(Inventory inventory, Player viewer) {
-            inventory.clear();
-            List<CoinFlipGame> games = gameService.listPublicGames();
+        void attach(Inventory inventory) {
+            this.inventory = inventory;
+            this.rendered = new ItemStack[inventory.getSize()];
+        }
+
+        void render() {
+            int size = inventory.getSize();
+            ItemStack[] desired = new ItemStack[size];
             CoinFlipConfig.BrowserSettings browser = plugin.config().ui().browser();
             int perPage = Math.max(1, browser.itemsPerPage());
             int start = page * perPage;
-            int end = Math.min(start + perPage, games.size());
+            List<CoinFlipGame> games = gameService.listPublicGames(start, perPage);
+            int total = gameService.publicGameCount();
 
-            if (start >= games.size()) {
-                ItemStack info = new ItemStack(Material.PAPER);
-                ItemMeta meta = info.getItemMeta();
-                ItemMetaUtil.displayName(meta, Component.text("No active coinflips", NamedTextColor.GRAY));
-                info.setItemMeta(meta);
-                inventory.setItem(13, info);
+            if (games.isEmpty()) {
+                desired[13] = controls.empty();
             } else {
-                for (int index = start, slot = 0; index < end; index++, slot++) {
-                    CoinFlipGame game = games.get(index);
-                    ItemStack item = createListingItem(game);
-                    inventory.setItem(slot, item);
+                long now = System.currentTimeMillis();
+                for (int slot = 0; slot < games.size() && slot < size; slot++) {
+                    desired[slot] = listings.item(games.get(slot), now);
                 }
             }
+            desired[size - 5] = controls.close();
+            if (page > 0) {
+                desired[size - 6] = controls.previous();
+            }
+            if (start + perPage < total) {
+                desired[size - 4] = controls.next();
+            }
+            desired[size - 3] = controls.help();
+
+            for (int slot = 0; slot < size; slot++) {
+                if (desired[slot] != rendered[slot]) {
+                    inventory.setItem(slot, desired[slot]);
+                    rendered[slot] = desired[slot];
+                }
+            }
+        }
 
+        @Override
+        public void onClick(Player player, int slot, ClickType click, ItemStack item) {
+            CoinFlipConfig.BrowserSettings browser = plugin.config().ui().browser();
+            int perPage = Math.max(1, browser.itemsPerPage());
             int size = size();
-            ItemStack close = new ItemStack(Material.BARRIER);
-            ItemMeta closeMeta = close.getItemMeta();
-            ItemMetaUtil.displayName(closeMeta, Component.text("Close", NamedTextColor.RED));
-            close.setItemMeta(closeMeta);
-            inventory.setItem(size - 5, close);
+            int start = page * perPage;
+            List<CoinFlipGame> games = gameService.listPublicGames(start, perPage);
+            int total = gameService.publicGameCount();
+
+            if (slot == size - 5) {
+                player.closeInventory();
+                return;
+            }
+
+            if (slot == size - 6 && page > 0) {
+                turnPage(player, page - 1);
+                return;
+            }
+
+            if (slot == size - 4 && start + perPage < total) {
+                turnPage(player, page + 1);
+                return;
+            }
+
+            if (slot == size - 3) {
+                openHelp(player, page);
+                return;
+            }
+
+            if (slot >= games.size()) {
+                return;
+            }
+            plugin.guiService().openAcceptConfirm(player, games.get(slot));
+        }
+
+        // A shared page belongs to every viewer, so turning it would move them all.
+        private void turnPage(Player player, int target) {
+            if (shared) {
+                openBrowser(player, target);
+                return;
+            }
+            page = target;
+            render();
+        }
+    }
+
+    private record BrowserControls(ItemStack close, ItemStack previous, ItemStack next, ItemStack help, ItemStack empty) {
+
+        static BrowserControls build() {
+            return new BrowserControls(
+                    named(Material.BARRIER, Component.text("Close", NamedTextColor.RED), List.of()),
+                    named(Material.ARROW, Component.text("Previous Page", NamedTextColor.YELLOW), List.of()),
+                    named(Material.ARROW, Component.text("Next Page", NamedTextColor.YELLOW), List.of()),
+                    named(Material.BOOK, Component.text("Help", NamedTextColor.AQUA),
+                            List.of(Component.text("View /cf commands", NamedTextColor.GRAY))),
+                    named(Material.PAPER, Component.text("No active coinflips", NamedTextColor.GRAY), List.of()));
+        }
+
+        private static ItemStack named(Material material, Component name, List<Component> lore) {
+            ItemStack item = new ItemStack(material);
+            ItemMeta meta = item.getItemMeta();
+            ItemMetaUtil.displayName(meta, name);
+            if (!lore.isEmpty()) {
+                ItemMetaUtil.lore(meta, lore);
+            }
+            item.setItemMeta(meta);
+            return item;
+        }
+    }
+
+    private final class LeaderboardInventory implements CoinFlipInventory {
+
+        private static final int SIZE = 54;
+        private static final int PER_PAGE = 45;
+
+        private final LeaderboardMetric metric;
+        private final int page;
+
+        LeaderboardInventory(LeaderboardMetric metric, int page) {
+            this.metric = metric;
+            this.page = Math.max(page, 0);
+        }
+
+        @Override
+        public Inventory getInventory() {
+            return null;
+        }
+
+        void populate(Inventory inventory) {
+            inventory.clear();
+            List<LeaderboardEntry> entries = plugin.statsService().leaderboard(metric, page * PER_PAGE, PER_PAGE);
+            if (entries.isEmpty()) {
+                ItemStack info = new ItemStack(Material.PAPER);
+                ItemMeta meta = info.getItemMeta();
+                ItemMetaUtil.displayName(meta, Component.text("No ranked players yet", NamedTextColor.GRAY));
+                info.setItemMeta(meta);
+                inventory.setItem(22, info);
+            }
+            int slot = 0;
+            for (LeaderboardEntry entry : entries) {
+                inventory.setItem(slot++, createEntryItem(entry));
+            }
 
             if (page > 0) {
                 ItemStack prev = new ItemStack(Material.ARROW);
                 ItemMeta prevMeta = prev.getItemMeta();
                 ItemMetaUtil.displayName(prevMeta, Component.text("Previous Page", NamedTextColor.YELLOW));
                 prev.setItemMeta(prevMeta);
-                inventory.setItem(size - 6, prev);
+                inventory.setItem(SIZE - 6, prev);
             }
 
-            if (end < games.size()) {
+            ItemStack close = new ItemStack(Material.BARRIER);
+            ItemMeta closeMeta = close.getItemMeta();
+            ItemMetaUtil.displayName(closeMeta, Component.text("Close", NamedTextColor.RED));
+            close.setItemMeta(closeMeta);
+            inventory.setItem(SIZE - 5, close);
+
+            if (hasNextPage()) {
                 ItemStack next = new ItemStack(Material.ARROW);
                 ItemMeta nextMeta = next.getItemMeta();
                 ItemMetaUtil.displayName(nextMeta, Component.text("Next Page", NamedTextColor.YELLOW));
                 next.setItemMeta(nextMeta);
-                inventory.setItem(size - 4, next);
+                inventory.setItem(SIZE - 4, next);
             }
 
-            ItemStack help = new ItemStack(Material.BOOK);
-            ItemMeta helpMeta = help.getItemMeta();
-            ItemMetaUtil.displayName(helpMeta, Component.text("Help", NamedTextColor.AQUA));
-            ItemMetaUtil.lore(helpMeta, List.of(Component.text("View /cf commands", NamedTextColor.GRAY)));
-            help.setItemMeta(helpMeta);
-            inventory.setItem(size - 3, help);
+            LeaderboardMetric[] metrics = LeaderboardMetric.values();
+            for (int i = 0; i < metrics.length; i++) {
+                inventory.setItem(SIZE - 1 - i, createMetricItem(metrics[i]));
+            }
         }
 
-        private ItemStack createListingItem(CoinFlipGame game) {
+        private ItemStack createEntryItem(LeaderboardEntry entry) {
             ItemStack skull = new ItemStack(Material.PLAYER_HEAD);
             ItemMeta meta = skull.getItemMeta();
-            OfflinePlayer creator = Bukkit.getOfflinePlayer(game.creator());
-            String creatorName = creator.getName() != null ? creator.getName() : "Unknown";
-            if (meta instanceof SkullMeta skullMeta && game.type() == GameType.PUBLIC) {
-                skullMeta.setOwningPlayer(creator);
-                meta = skullMeta;
-            }
-            ItemMetaUtil.displayName(meta, Component.text(creatorName, NamedTextColor.AQUA));
-
-            long remaining = game.expiresAt() - System.currentTimeMillis();
-            List<Component> lore = new ArrayList<>();
-            lore.add(Component.text("Creator: " + creatorName, NamedTextColor.GRAY));
-            lore.add(Component.text("Amount: " + plugin.economyService().economy().format(game.amount()), NamedTextColor.GREEN));
-            lore.add(Component.text("Time Left: " + TimeUtil.formatSecondsRemaining(remaining), NamedTextColor.GOLD));
-            ItemMetaUtil.lore(meta, lore);
+            ProfileService profiles = plugin.profileService();
+            String name = profiles.name(entry.playerId());
+            boolean complete = name != null;
+            if (meta instanceof SkullMeta skullMeta) {
+                complete &= profiles.applyHead(skullMeta, entry.playerId());
+            }
+            if (!complete) {
+                awaitProfile(entry.playerId());
+                name = name != null ? name : "Unknown";
+            }
+            ItemMetaUtil.displayName(meta, Component.text("#" + entry.rank() + " " + name, NamedTextColor.AQUA));
+            ItemMetaUtil.lore(meta, List.of(
+                    Component.text(metric.displayName() + ": " + formatLeaderboardValue(metric, entry.value()), NamedTextColor.GREEN)
+            ));
             skull.setItemMeta(meta);
             return skull;
         }
 
+        private ItemStack createMetricItem(LeaderboardMetric option) {
+            Material material = switch (option) {
+                case WINS -> Material.EMERALD;
+                case NET_PROFIT -> Material.GOLD_INGOT;
+                case WAGERED -> Material.DIAMOND;
+            };
+            ItemStack item = new ItemStack(material);
+            ItemMeta meta = item.getItemMeta();
+            NamedTextColor color = option == metric ? NamedTextColor.GREEN : NamedTextColor.YELLOW;
+            ItemMetaUtil.displayName(meta, Component.text("Top " + option.displayName(), color));
+            if (option == metric) {
+                ItemMetaUtil.lore(meta, List.of(Component.text("Currently shown", NamedTextColor.GRAY)));
+            }
+            item.setItemMeta(meta);
+            return item;
+        }
+
+        private boolean hasNextPage() {
+            return (page + 1) * PER_PAGE < plugin.statsService().leaderboardSize(metric);
+        }
+
         @Override
         public void onClick(Player player, int slot, ClickType click, ItemStack item) {
-            CoinFlipConfig.BrowserSettings browser = plugin.config().ui().browser();
-            int perPage = Math.max(1, browser.itemsPerPage());
-            int size = size();
-            int start = page * perPage;
-            List<CoinFlipGame> games = gameService.listPublicGames();
-            int end = Math.min(start + perPage, games.size());
-
-            if (slot == size - 5) {
+            if (slot == SIZE - 5) {
                 player.closeInventory();
                 return;
             }
-
-            if (slot == size - 6 && page > 0) {
-                openBrowser(player, page - 1);
-                return;
-            }
-
-            if (slot == size - 4 && end < games.size()) {
-                openBrowser(player, page + 1);
+            if (slot == SIZE - 6 && page > 0) {
+                openLeaderboard(player, metric, page - 1);
                 return;
             }
-
-            if (slot == size - 3) {
-                openHelp(player, page);
+            if (slot == SIZE - 4 && hasNextPage()) {
+                openLeaderboard(player, metric, page + 1);
                 return;
             }
-
-            int index = start + slot;
-            if (index >= games.size() || index >= end) {
-                return;
+            LeaderboardMetric[] metrics = LeaderboardMetric.values();
+            int metricIndex = SIZE - 1 - slot;
+            if (metricIndex >= 0 && metricIndex < metrics.length && metrics[metricIndex] != metric) {
+                openLeaderboard(player, metrics[metricIndex], 0);
             }
-            CoinFlipGame game = games.get(index);
-            plugin.guiService().openAcceptConfirm(player, game);
         }
     }
 
@@ -457,9 +771,9 @@ public final class GuiService implements Listener {
 
     private final class ConfirmCreateInventory implements CoinFlipInventory {
 
-        private final double amount;
+        private final long amount;
 
-        ConfirmCreateInventory(double amount) {
+        ConfirmCreateInventory(long amount) {
             this.amount = amount;
         }
 
@@ -473,7 +787,7 @@ public final class GuiService implements Listener {
             ItemMeta confirmMeta = confirm.getItemMeta();
             ItemMetaUtil.displayName(confirmMeta, Component.text("Confirm", NamedTextColor.GREEN));
             ItemMetaUtil.lore(confirmMeta, List.of(
-                    Component.text("Create public coinflip for " + plugin.economyService().economy().format(amount), NamedTextColor.GRAY)
+                    Component.text("Create public coinflip for " + plugin.economyService().formatCurrency(amount), NamedTextColor.GRAY)
             ));
             confirm.setItemMeta(confirmMeta);
             inventory.setItem(11, confirm);
@@ -513,16 +827,13 @@ public final class GuiService implements Listener {
         }
 
         void populate(Inventory inventory, Player viewer, CoinFlipGame game) {
-            String creatorName = Bukkit.getOfflinePlayer(game.creator()).getName();
-            if (creatorName == null) {
-                creatorName = "Unknown";
-            }
+            String creatorName = resolvePlayerName(game.creator());
             ItemStack accept = new ItemStack(Material.LIME_WOOL);
             ItemMeta acceptMeta = accept.getItemMeta();
             ItemMetaUtil.displayName(acceptMeta, Component.text("Accept", NamedTextColor.GREEN));
             ItemMetaUtil.lore(acceptMeta, List.of(
                     Component.text("Accept coinflip vs " + creatorName, NamedTextColor.GRAY),
-                    Component.text("Amount: " + plugin.economyService().economy().format(game.amount()), NamedTextColor.GREEN)
+                    Component.text("Amount: " + plugin.economyService().formatCurrency(game.amountMinor()), NamedTextColor.GREEN)
             ));
             accept.setItemMeta(acceptMeta);
             inventory.setItem(11, accept);
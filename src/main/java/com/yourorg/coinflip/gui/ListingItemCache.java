@@ -0,0 +1,119 @@
+package com.yourorg.coinflip.gui;
+
+import com.yourorg.coinflip.CoinFlipPlugin;
+import com.yourorg.coinflip.game.CoinFlipGame;
+import com.yourorg.coinflip.game.GameType;
+import com.yourorg.coinflip.profile.ProfileService;
+import com.yourorg.coinflip.util.ItemMetaUtil;
+import com.yourorg.coinflip.util.TimeUtil;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.inventory.meta.SkullMeta;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+// Main thread only, like every inventory it feeds.
+final class ListingItemCache {
+
+    private final CoinFlipPlugin plugin;
+    private final Map<UUID, Listing> listings = new HashMap<>();
+    private final Consumer<UUID> onProfileMissing;
+
+    private long indexVersion = -1L;
+
+    ListingItemCache(CoinFlipPlugin plugin, Consumer<UUID> onProfileMissing) {
+        this.plugin = plugin;
+        this.onProfileMissing = onProfileMissing;
+    }
+
+    ItemStack item(CoinFlipGame game, long now) {
+        evictClosedGames();
+        Listing listing = listings.computeIfAbsent(game.id(), id -> createListing(game));
+        long remaining = Math.max(0L, game.expiresAt() - now);
+        long second = remaining / 1000L;
+        if (listing.rendered == null || listing.renderedSecond != second) {
+            listing.rendered = render(listing, remaining);
+            listing.renderedSecond = second;
+        }
+        return listing.rendered;
+    }
+
+    void invalidate(UUID creator) {
+        listings.values().removeIf(listing -> listing.creator.equals(creator));
+    }
+
+    void clear() {
+        listings.clear();
+        indexVersion = -1L;
+    }
+
+    private void evictClosedGames() {
+        long version = plugin.gameService().publicIndexVersion();
+        if (version == indexVersion) {
+            return;
+        }
+        Set<UUID> open = new HashSet<>();
+        for (CoinFlipGame game : plugin.gameService().listPublicGames()) {
+            open.add(game.id());
+        }
+        listings.keySet().retainAll(open);
+        indexVersion = version;
+    }
+
+    private Listing createListing(CoinFlipGame game) {
+        ProfileService profiles = plugin.profileService();
+        ItemStack skull = new ItemStack(Material.PLAYER_HEAD);
+        ItemMeta meta = skull.getItemMeta();
+        String name = profiles.name(game.creator());
+        String creatorName = name != null ? name : "Unknown";
+        boolean complete = name != null;
+        if (meta instanceof SkullMeta skullMeta && game.type() == GameType.PUBLIC) {
+            complete &= profiles.applyHead(skullMeta, game.creator());
+        }
+        if (!complete) {
+            onProfileMissing.accept(game.creator());
+        }
+        ItemMetaUtil.displayName(meta, Component.text(creatorName, NamedTextColor.AQUA));
+        skull.setItemMeta(meta);
+
+        List<Component> lore = List.of(
+                Component.text("Creator: " + creatorName, NamedTextColor.GRAY),
+                Component.text("Amount: " + plugin.economyService().formatCurrency(game.amountMinor()), NamedTextColor.GREEN));
+        return new Listing(game.creator(), skull, lore);
+    }
+
+    private ItemStack render(Listing listing, long remaining) {
+        ItemStack item = listing.base.clone();
+        ItemMeta meta = item.getItemMeta();
+        List<Component> lore = new ArrayList<>(listing.lore);
+        lore.add(Component.text("Time Left: " + TimeUtil.formatSecondsRemaining(remaining), NamedTextColor.GOLD));
+        ItemMetaUtil.lore(meta, lore);
+        item.setItemMeta(meta);
+        return item;
+    }
+
+    private static final class Listing {
+
+        private final UUID creator;
+        private final ItemStack base;
+        private final List<Component> lore;
+        private ItemStack rendered;
+        private long renderedSecond;
+
+        Listing(UUID creator, ItemStack base, List<Component> lore) {
+            this.creator = creator;
+            this.base = base;
+            this.lore = lore;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.yourorg.coinflip.history;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record GameRecord(
+        long id,
+        UUID gameId,
+        UUID creator,
+        UUID acceptor,
+        UUID winner,
+        long amountMinor,
+        long taxMinor,
+        long proof,
+        long resolvedAtMillis
+) {
+
+    public UUID opponentOf(UUID playerId) {
+        return playerId.equals(creator) ? acceptor : creator;
+    }
+
+    public boolean wonBy(UUID playerId) {
+        return playerId.equals(winner);
+    }
+
+    public Instant resolvedAt() {
+        return Instant.ofEpochMilli(resolvedAtMillis);
+    }
+}
@@ -0,0 +1,12 @@
+package com.yourorg.coinflip.history;
+
+import java.util.List;
+
+public record HistoryPage(List<GameRecord> records, long nextCursor) {
+
+    public static final long NO_CURSOR = 0L;
+
+    public boolean hasMore() {
+        return nextCursor != NO_CURSOR;
+    }
+}
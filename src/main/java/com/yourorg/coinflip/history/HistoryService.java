@@ -0,0 +1,196 @@
+package com.yourorg.coinflip.history;
+
+import com.yourorg.coinflip.CoinFlipPlugin;
+import com.yourorg.coinflip.storage.SqliteDatabase;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class HistoryService {
+
+    private static final long FLUSH_INTERVAL_SECONDS = 2L;
+    private static final int FLUSH_BATCH_SIZE = 128;
+
+    private static final String TABLE_SQL = """
+            CREATE TABLE IF NOT EXISTS game_history (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                game_uuid TEXT NOT NULL,
+                creator_uuid TEXT NOT NULL,
+                acceptor_uuid TEXT NOT NULL,
+                winner_uuid TEXT NOT NULL,
+                amount INTEGER NOT NULL,
+                tax INTEGER NOT NULL,
+                proof INTEGER NOT NULL,
+                resolved_at INTEGER NOT NULL
+            )
+            """;
+
+    // Secondary indexes carry the rowid, so each one also serves "newest first before id X" for its column.
+    private static final String[] INDEX_SQL = {
+            "CREATE INDEX IF NOT EXISTS idx_game_history_creator ON game_history (creator_uuid)",
+            "CREATE INDEX IF NOT EXISTS idx_game_history_acceptor ON game_history (acceptor_uuid)",
+            "CREATE INDEX IF NOT EXISTS idx_game_history_time ON game_history (resolved_at)"
+    };
+
+    private static final String INSERT_SQL = """
+            INSERT INTO game_history (game_uuid, creator_uuid, acceptor_uuid, winner_uuid, amount, tax, proof, resolved_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String COLUMNS = "id, game_uuid, creator_uuid, acceptor_uuid, winner_uuid, amount, tax, proof, resolved_at";
+
+    private static final String PLAYER_PAGE_SQL = """
+            SELECT * FROM (
+                SELECT %1$s FROM game_history WHERE creator_uuid = ? AND id < ? ORDER BY id DESC LIMIT ?
+            )
+            UNION ALL
+            SELECT * FROM (
+                SELECT %1$s FROM game_history WHERE acceptor_uuid = ? AND id < ? ORDER BY id DESC LIMIT ?
+            )
+            ORDER BY id DESC
+            LIMIT ?
+            """.formatted(COLUMNS);
+
+    private static final String ALL_PAGE_SQL = """
+            SELECT %s FROM game_history WHERE id < ? ORDER BY id DESC LIMIT ?
+            """.formatted(COLUMNS);
+
+    private final CoinFlipPlugin plugin;
+    private final SqliteDatabase database;
+    private final Queue<GameRecord> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicBoolean flushQueued = new AtomicBoolean();
+
+    public HistoryService(CoinFlipPlugin plugin) {
+        this.plugin = plugin;
+        this.database = plugin.database();
+    }
+
+    public void init() {
+        database.write(session -> {
+            session.execute(TABLE_SQL);
+            for (String sql : INDEX_SQL) {
+                session.execute(sql);
+            }
+            return null;
+        }).exceptionally(ex -> {
+            plugin.getLogger().severe("Failed to prepare game history table: " + ex.getMessage());
+            return null;
+        });
+        database.scheduleWrite(this::flush, FLUSH_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    public void shutdown() {
+        database.write(this::flush).exceptionally(ex -> {
+            plugin.getLogger().severe("Failed to flush game history on shutdown: " + ex.getMessage());
+            return null;
+        }).join();
+    }
+
+    public void record(UUID gameId, UUID creator, UUID acceptor, UUID winner, long amountMinor, long taxMinor, long proof,
+                       long resolvedAtMillis) {
+        pending.add(new GameRecord(0L, gameId, creator, acceptor, winner, amountMinor, taxMinor, proof, resolvedAtMillis));
+        // Stays past the threshold until the writer gets to it, so only the first record over it queues a flush.
+        if (pendingCount.incrementAndGet() >= FLUSH_BATCH_SIZE && flushQueued.compareAndSet(false, true)) {
+            database.write(this::flush);
+        }
+    }
+
+    // Queued games are flushed on the writer first so the page includes them; the query itself runs on the reader.
+    public CompletableFuture<HistoryPage> page(UUID playerId, long cursor, int limit) {
+        long before = cursor == HistoryPage.NO_CURSOR ? Long.MAX_VALUE : cursor;
+        CompletableFuture<Void> flushed = pendingCount.get() > 0
+                ? database.write(this::flush)
+                : CompletableFuture.completedFuture(null);
+        return flushed.thenCompose(ignored -> database.read(session -> {
+            PreparedStatement statement;
+            if (playerId == null) {
+                statement = session.prepare(ALL_PAGE_SQL);
+                statement.setLong(1, before);
+                statement.setInt(2, limit + 1);
+            } else {
+                statement = session.prepare(PLAYER_PAGE_SQL);
+                String player = playerId.toString();
+                statement.setString(1, player);
+                statement.setLong(2, before);
+                statement.setInt(3, limit + 1);
+                statement.setString(4, player);
+                statement.setLong(5, before);
+                statement.setInt(6, limit + 1);
+                statement.setInt(7, limit + 1);
+            }
+            List<GameRecord> records = new ArrayList<>(limit + 1);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    records.add(readRecord(rs));
+                }
+            }
+            // One extra row tells us whether another page exists without a COUNT.
+            if (records.size() <= limit) {
+                return new HistoryPage(records, HistoryPage.NO_CURSOR);
+            }
+            List<GameRecord> page = records.subList(0, limit);
+            return new HistoryPage(List.copyOf(page), page.get(limit - 1).id());
+        }));
+    }
+
+    // Must run on the database writer thread.
+    private Void flush(SqliteDatabase.Session session) {
+        flushQueued.set(false);
+        if (pending.isEmpty()) {
+            return null;
+        }
+        List<GameRecord> batch = new ArrayList<>();
+        GameRecord record;
+        while ((record = pending.poll()) != null) {
+            batch.add(record);
+        }
+        pendingCount.addAndGet(-batch.size());
+        try {
+            session.transaction(() -> insert(session, batch));
+        } catch (SQLException ex) {
+            plugin.getLogger().severe("Failed to record game history: " + ex.getMessage());
+            pending.addAll(batch);
+            pendingCount.addAndGet(batch.size());
+        }
+        return null;
+    }
+
+    private void insert(SqliteDatabase.Session session, List<GameRecord> batch) throws SQLException {
+        PreparedStatement statement = session.prepare(INSERT_SQL);
+        for (GameRecord record : batch) {
+            statement.setString(1, record.gameId().toString());
+            statement.setString(2, record.creator().toString());
+            statement.setString(3, record.acceptor().toString());
+            statement.setString(4, record.winner().toString());
+            statement.setLong(5, record.amountMinor());
+            statement.setLong(6, record.taxMinor());
+            statement.setLong(7, record.proof());
+            statement.setLong(8, record.resolvedAtMillis());
+            statement.addBatch();
+        }
+        statement.executeBatch();
+    }
+
+    private GameRecord readRecord(ResultSet rs) throws SQLException {
+        return new GameRecord(rs.getLong("id"),
+                UUID.fromString(rs.getString("game_uuid")),
+                UUID.fromString(rs.getString("creator_uuid")),
+                UUID.fromString(rs.getString("acceptor_uuid")),
+                UUID.fromString(rs.getString("winner_uuid")),
+                rs.getLong("amount"),
+                rs.getLong("tax"),
+                rs.getLong("proof"),
+                rs.getLong("resolved_at"));
+    }
+}
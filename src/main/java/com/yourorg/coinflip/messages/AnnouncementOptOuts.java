@@ -0,0 +1,66 @@
+package com.yourorg.coinflip.messages;
+
+import com.yourorg.coinflip.CoinFlipPlugin;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+final class AnnouncementOptOuts {
+
+    private static final String TABLE_SQL = """
+            CREATE TABLE IF NOT EXISTS broadcast_optout (
+                player_uuid TEXT PRIMARY KEY
+            )
+            """;
+    private static final String SELECT_SQL = "SELECT player_uuid FROM broadcast_optout";
+    private static final String INSERT_SQL = "INSERT OR IGNORE INTO broadcast_optout (player_uuid) VALUES (?)";
+    private static final String DELETE_SQL = "DELETE FROM broadcast_optout WHERE player_uuid = ?";
+
+    private final CoinFlipPlugin plugin;
+    private final Set<UUID> optedOut = ConcurrentHashMap.newKeySet();
+
+    AnnouncementOptOuts(CoinFlipPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    // Blocks enable briefly so nobody who opted out sees announcements before the set is known.
+    void load() {
+        plugin.database().write(session -> {
+            session.execute(TABLE_SQL);
+            PreparedStatement statement = session.prepare(SELECT_SQL);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    optedOut.add(UUID.fromString(rs.getString("player_uuid")));
+                }
+            }
+            return null;
+        }).exceptionally(ex -> {
+            plugin.getLogger().severe("Failed to load announcement preferences: " + ex.getMessage());
+            return null;
+        }).join();
+    }
+
+    boolean contains(UUID playerId) {
+        return optedOut.contains(playerId);
+    }
+
+    boolean toggle(UUID playerId) {
+        boolean nowOptedOut = optedOut.add(playerId);
+        if (!nowOptedOut) {
+            optedOut.remove(playerId);
+        }
+        plugin.database().write(session -> {
+            PreparedStatement statement = session.prepare(nowOptedOut ? INSERT_SQL : DELETE_SQL);
+            statement.setString(1, playerId.toString());
+            statement.executeUpdate();
+            return null;
+        }).exceptionally(ex -> {
+            plugin.getLogger().severe("Failed to save announcement preference: " + ex.getMessage());
+            return null;
+        });
+        return nowOptedOut;
+    }
+}
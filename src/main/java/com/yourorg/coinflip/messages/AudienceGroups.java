@@ -0,0 +1,178 @@
+package com.yourorg.coinflip.messages;
+
+import com.yourorg.coinflip.CoinFlipPlugin;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+final class AudienceGroups implements Listener {
+
+    private static final String STAFF_PERMISSION = "coinflip.notify";
+    private static final long STAFF_RESYNC_TICKS = 200L;
+
+    private final CoinFlipPlugin plugin;
+    private final Map<UUID, Audience> online = new LinkedHashMap<>();
+    private final Map<UUID, Audience> staff = new LinkedHashMap<>();
+    private final AnnouncementOptOuts optOuts;
+    private final Queue<Delivery> spread = new ConcurrentLinkedQueue<>();
+
+    // Rebuilt on membership changes so every send iterates a ready-made list.
+    private volatile List<Audience> onlineGroup = List.of();
+    private volatile List<Audience> staffGroup = List.of();
+    private volatile List<Audience> announcementGroup = List.of();
+
+    private BukkitTask resyncTask;
+    private BukkitTask spreadTask;
+
+    AudienceGroups(CoinFlipPlugin plugin) {
+        this.plugin = plugin;
+        this.optOuts = new AnnouncementOptOuts(plugin);
+    }
+
+    void start() {
+        optOuts.load();
+        Bukkit.getPluginManager().registerEvents(this, plugin);
+        Bukkit.getOnlinePlayers().forEach(this::join);
+        publish();
+        // Permission plugins fire no common change event, so staff membership is re-checked periodically.
+        this.resyncTask = Bukkit.getScheduler().runTaskTimer(plugin, this::resyncStaff, STAFF_RESYNC_TICKS, STAFF_RESYNC_TICKS);
+    }
+
+    void shutdown() {
+        if (resyncTask != null) {
+            resyncTask.cancel();
+        }
+        if (spreadTask != null) {
+            spreadTask.cancel();
+            spreadTask = null;
+        }
+        Delivery delivery;
+        while ((delivery = spread.poll()) != null) {
+            delivery.audience().sendMessage(delivery.message());
+        }
+        online.clear();
+        staff.clear();
+        publish();
+    }
+
+    void sendToAll(Component message) {
+        send(onlineGroup, message);
+    }
+
+    void sendToStaff(Component message) {
+        send(staffGroup, message);
+    }
+
+    void sendToAnnouncements(Component message) {
+        send(announcementGroup, message);
+    }
+
+    boolean hasAnnouncementAudience() {
+        return !announcementGroup.isEmpty();
+    }
+
+    boolean toggleAnnouncements(Player player) {
+        boolean optedOut = optOuts.toggle(player.getUniqueId());
+        publish();
+        return !optedOut;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        join(event.getPlayer());
+        publish();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        UUID playerId = event.getPlayer().getUniqueId();
+        online.remove(playerId);
+        staff.remove(playerId);
+        publish();
+    }
+
+    private void join(Player player) {
+        Audience audience = plugin.audiences().player(player);
+        online.put(player.getUniqueId(), audience);
+        if (player.hasPermission(STAFF_PERMISSION)) {
+            staff.put(player.getUniqueId(), audience);
+        }
+    }
+
+    private void resyncStaff() {
+        boolean changed = false;
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            Audience audience = online.get(player.getUniqueId());
+            if (audience == null) {
+                continue;
+            }
+            if (player.hasPermission(STAFF_PERMISSION)) {
+                changed |= staff.put(player.getUniqueId(), audience) == null;
+            } else {
+                changed |= staff.remove(player.getUniqueId()) != null;
+            }
+        }
+        if (changed) {
+            publish();
+        }
+    }
+
+    private void publish() {
+        this.onlineGroup = List.copyOf(online.values());
+        this.staffGroup = List.copyOf(staff.values());
+        List<Audience> announcements = new ArrayList<>(online.size());
+        online.forEach((playerId, audience) -> {
+            if (!optOuts.contains(playerId)) {
+                announcements.add(audience);
+            }
+        });
+        this.announcementGroup = List.copyOf(announcements);
+    }
+
+    private void send(Collection<Audience> group, Component message) {
+        int perTick = plugin.config().broadcast().spreadPerTick();
+        if (perTick <= 0 || group.size() <= perTick) {
+            for (Audience audience : group) {
+                audience.sendMessage(message);
+            }
+            return;
+        }
+        for (Audience audience : group) {
+            spread.add(new Delivery(audience, message));
+        }
+        if (spreadTask == null) {
+            this.spreadTask = Bukkit.getScheduler().runTaskTimer(plugin, this::drainSpread, 1L, 1L);
+        }
+    }
+
+    private void drainSpread() {
+        int budget = Math.max(1, plugin.config().broadcast().spreadPerTick());
+        Delivery delivery;
+        while (budget-- > 0 && (delivery = spread.poll()) != null) {
+            delivery.audience().sendMessage(delivery.message());
+        }
+        if (spread.isEmpty() && spreadTask != null) {
+            spreadTask.cancel();
+            spreadTask = null;
+        }
+    }
+
+    private record Delivery(Audience audience, Component message) {
+    }
+}
@@ -6,7 +6,6 @@ import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.MiniMessage;
 import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
-import org.bukkit.Bukkit;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
@@ -16,19 +15,33 @@ import org.bukkit.command.CommandSender;
 import java.io.File;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 
 public final class MessageService {
 
     private final CoinFlipPlugin plugin;
+    private final AudienceGroups groups;
     private FileConfiguration messages;
     private MiniMessage miniMessage;
+    private Map<String, MessageTemplate> templates = Map.of();
+    private Component prefix = Component.empty();
 
     public MessageService(CoinFlipPlugin plugin) {
         this.plugin = plugin;
+        this.groups = new AudienceGroups(plugin);
         load();
     }
 
+    public void start() {
+        groups.start();
+    }
+
+    public void shutdown() {
+        groups.shutdown();
+    }
+
     public void load() {
         File file = new File(plugin.getDataFolder(), "messages.yml");
         if (!file.exists()) {
@@ -37,6 +50,26 @@ public final class MessageService {
         this.messages = YamlConfiguration.loadConfiguration(file);
         mergeMissingMessageKeys(file);
         this.miniMessage = MiniMessage.miniMessage();
+        compileTemplates();
+    }
+
+    private void compileTemplates() {
+        boolean mini = plugin.config().miniMessage();
+        Map<String, MessageTemplate> compiled = new HashMap<>();
+        for (String key : messages.getKeys(true)) {
+            String raw = messages.getString(key);
+            if (raw == null || messages.isConfigurationSection(key)) {
+                continue;
+            }
+            try {
+                compiled.put(key, mini ? MessageTemplate.compile(raw, miniMessage) : MessageTemplate.plain(raw));
+            } catch (RuntimeException ex) {
+                plugin.getLogger().warning("Failed to parse message '" + key + "': " + ex.getMessage());
+            }
+        }
+        this.templates = compiled;
+        MessageTemplate prefixTemplate = compiled.get("prefix");
+        this.prefix = prefixTemplate != null ? prefixTemplate.render() : Component.text("Missing message: prefix");
     }
 
     private void mergeMissingMessageKeys(File file) {
@@ -80,11 +113,11 @@ public final class MessageService {
     }
 
     public Component component(String key, TagResolver... placeholders) {
-        String raw = messages.getString(key);
-        if (raw == null) {
+        MessageTemplate template = templates.get(key);
+        if (template == null) {
             return Component.text("Missing message: " + key);
         }
-        return parse(raw, placeholders);
+        return template.render(placeholders);
     }
 
     public Component parse(String raw, TagResolver... placeholders) {
@@ -99,9 +132,7 @@ public final class MessageService {
     }
 
     public Component prefixed(String key, TagResolver... placeholders) {
-        Component prefix = component("prefix");
-        Component message = component(key, placeholders);
-        return prefix.append(message);
+        return prefix.append(component(key, placeholders));
     }
 
     public void send(Player player, String key, TagResolver... placeholders) {
@@ -125,26 +156,31 @@ public final class MessageService {
     }
 
     public void broadcast(String key, TagResolver... placeholders) {
-        Component message = prefixed(key, placeholders);
-        Bukkit.getOnlinePlayers().forEach(player -> plugin.audiences().player(player).sendMessage(message));
+        groups.sendToAll(prefixed(key, placeholders));
     }
 
     public void broadcast(Component message) {
-        Bukkit.getOnlinePlayers().forEach(player -> plugin.audiences().player(player).sendMessage(message));
+        groups.sendToAll(message);
+    }
+
+    public void announce(Component message) {
+        groups.sendToAnnouncements(message);
+    }
+
+    public boolean hasAnnouncementAudience() {
+        return groups.hasAnnouncementAudience();
+    }
+
+    public boolean toggleAnnouncements(Player player) {
+        return groups.toggleAnnouncements(player);
     }
 
     public void notifyStaff(String key, TagResolver... placeholders) {
-        Component message = prefixed(key, placeholders);
-        Bukkit.getOnlinePlayers().stream()
-                .filter(player -> player.hasPermission("coinflip.notify"))
-                .forEach(player -> plugin.audiences().player(player).sendMessage(message));
+        groups.sendToStaff(prefixed(key, placeholders));
     }
 
     public void notifyStaffRaw(String key, TagResolver... placeholders) {
-        Component message = component(key, placeholders);
-        Bukkit.getOnlinePlayers().stream()
-                .filter(player -> player.hasPermission("coinflip.notify"))
-                .forEach(player -> plugin.audiences().player(player).sendMessage(message));
+        groups.sendToStaff(component(key, placeholders));
     }
 
     public void reload() {
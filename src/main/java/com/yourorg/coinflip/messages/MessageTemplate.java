@@ -0,0 +1,121 @@
+package com.yourorg.coinflip.messages;
+
+import com.yourorg.coinflip.util.PlaceholderUtil;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextReplacementConfig;
+import net.kyori.adventure.text.minimessage.Context;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.Tag;
+import net.kyori.adventure.text.minimessage.tag.resolver.ArgumentQueue;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import net.kyori.adventure.text.minimessage.tag.standard.StandardTags;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+final class MessageTemplate {
+
+    // Private-use characters cannot come from messages.yml by accident, so they safely delimit slot names.
+    private static final char SLOT_START = '\uE000';
+    private static final char SLOT_END = '\uE001';
+    private static final Pattern SLOT_PATTERN = Pattern.compile(SLOT_START + "([a-z0-9_-]+)" + SLOT_END);
+    // A tag opened inside another tag's arguments (e.g. a click command) cannot be filled by text replacement.
+    private static final Pattern NESTED_TAG = Pattern.compile("<[^<>]*<");
+
+    private static final TagResolver STANDARD = StandardTags.defaults();
+
+    private final String raw;
+    private final MiniMessage miniMessage;
+    private final Component compiled;
+    private final boolean hasSlots;
+    private final boolean parseEachTime;
+
+    private MessageTemplate(String raw, MiniMessage miniMessage, Component compiled, boolean hasSlots, boolean parseEachTime) {
+        this.raw = raw;
+        this.miniMessage = miniMessage;
+        this.compiled = compiled;
+        this.hasSlots = hasSlots;
+        this.parseEachTime = parseEachTime;
+    }
+
+    static MessageTemplate compile(String raw, MiniMessage miniMessage) {
+        if (NESTED_TAG.matcher(raw).find()) {
+            return new MessageTemplate(raw, miniMessage, null, true, true);
+        }
+        SlotResolver slots = new SlotResolver();
+        Component compiled = miniMessage.deserialize(raw, slots);
+        return new MessageTemplate(raw, miniMessage, compiled, slots.found, false);
+    }
+
+    static MessageTemplate plain(String raw) {
+        return new MessageTemplate(raw, null, Component.text(raw), false, false);
+    }
+
+    Component render(TagResolver... placeholders) {
+        if (parseEachTime) {
+            return parse(placeholders);
+        }
+        if (!hasSlots) {
+            return compiled;
+        }
+        Map<String, Component> values = new HashMap<>();
+        for (TagResolver placeholder : placeholders) {
+            if (placeholder == null) {
+                continue;
+            }
+            Component value = valueOf(placeholder);
+            if (value == null) {
+                return parse(placeholders);
+            }
+            values.put(((TagResolver.Single) placeholder).key(), value);
+        }
+        return compiled.replaceText(TextReplacementConfig.builder()
+                .match(SLOT_PATTERN)
+                .replacement((match, builder) -> {
+                    Component value = values.get(match.group(1));
+                    // Without a value MiniMessage leaves the tag as literal text; keep that behaviour.
+                    return value != null ? value : Component.text("<" + match.group(1) + ">");
+                })
+                .build());
+    }
+
+    private Component parse(TagResolver... placeholders) {
+        return miniMessage.deserialize(raw, PlaceholderUtil.merge(placeholders));
+    }
+
+    // Plain-text parsed values and component inserts can be substituted; anything carrying markup needs a real parse.
+    private static Component valueOf(TagResolver placeholder) {
+        if (!(placeholder instanceof TagResolver.Single single)) {
+            return null;
+        }
+        Tag tag = single.tag();
+        if (tag instanceof Tag.PreProcess preProcess) {
+            String value = preProcess.value();
+            if (value.indexOf('<') >= 0 || value.indexOf('\\') >= 0) {
+                return null;
+            }
+            return Component.text(value);
+        }
+        if (tag instanceof Tag.Inserting inserting) {
+            return inserting.value();
+        }
+        return null;
+    }
+
+    private static final class SlotResolver implements TagResolver {
+
+        private boolean found;
+
+        @Override
+        public Tag resolve(String name, ArgumentQueue arguments, Context ctx) {
+            found = true;
+            return Tag.selfClosingInserting(Component.text(SLOT_START + name + SLOT_END));
+        }
+
+        @Override
+        public boolean has(String name) {
+            return !STANDARD.has(name);
+        }
+    }
+}
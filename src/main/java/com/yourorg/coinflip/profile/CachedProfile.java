@@ -0,0 +1,10 @@
+package com.yourorg.coinflip.profile;
+
+import java.util.UUID;
+
+public record CachedProfile(UUID playerId, String name, String texture, String signature) {
+
+    public boolean hasTexture() {
+        return texture != null && !texture.isEmpty();
+    }
+}
@@ -0,0 +1,80 @@
+package com.yourorg.coinflip.profile;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+
+// Sorted by lowercase name, so a prefix is one contiguous range. Main thread only.
+public final class PlayerNameIndex {
+
+    private final NavigableMap<String, Entry> byName = new TreeMap<>();
+    private final Map<UUID, String> keys = new HashMap<>();
+
+    public void add(UUID playerId, String name) {
+        remove(playerId);
+        String key = name.toLowerCase(Locale.ROOT);
+        Entry displaced = byName.put(key, new Entry(playerId, name));
+        if (displaced != null) {
+            keys.remove(displaced.playerId());
+        }
+        keys.put(playerId, key);
+    }
+
+    public void remove(UUID playerId) {
+        String key = keys.remove(playerId);
+        if (key != null) {
+            byName.remove(key);
+        }
+    }
+
+    public int size() {
+        return byName.size();
+    }
+
+    // Names starting with the prefix, players in preferred first; each group stays alphabetical.
+    public List<String> complete(String prefix, UUID exclude, Collection<UUID> preferred, int limit) {
+        String lower = prefix == null ? "" : prefix.toLowerCase(Locale.ROOT);
+        List<String> preferredKeys = new ArrayList<>(preferred.size());
+        for (UUID playerId : preferred) {
+            String key = keys.get(playerId);
+            if (key != null && key.startsWith(lower) && !playerId.equals(exclude)) {
+                preferredKeys.add(key);
+            }
+        }
+        preferredKeys.sort(null);
+
+        List<String> result = new ArrayList<>();
+        for (String key : preferredKeys) {
+            if (result.size() >= limit) {
+                return result;
+            }
+            result.add(byName.get(key).name());
+        }
+        for (Entry entry : range(lower)) {
+            if (result.size() >= limit) {
+                break;
+            }
+            if (!entry.playerId().equals(exclude) && !preferred.contains(entry.playerId())) {
+                result.add(entry.name());
+            }
+        }
+        return result;
+    }
+
+    private Collection<Entry> range(String prefix) {
+        if (prefix.isEmpty()) {
+            return byName.values();
+        }
+        // Every key starting with the prefix sorts below prefix + U+FFFF.
+        return byName.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values();
+    }
+
+    private record Entry(UUID playerId, String name) {
+    }
+}
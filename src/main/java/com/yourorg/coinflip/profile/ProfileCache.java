@@ -0,0 +1,66 @@
+package com.yourorg.coinflip.profile;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+final class ProfileCache {
+
+    private final int capacity;
+    private final LinkedHashMap<UUID, CachedProfile> byId;
+    // Mirrors byId so name lookups never outlive the profile they point at.
+    private final Map<String, UUID> byName = new HashMap<>();
+
+    ProfileCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.byId = new LinkedHashMap<>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, CachedProfile> eldest) {
+                if (size() <= ProfileCache.this.capacity) {
+                    return false;
+                }
+                byName.remove(key(eldest.getValue().name()), eldest.getKey());
+                return true;
+            }
+        };
+    }
+
+    synchronized CachedProfile get(UUID playerId) {
+        return byId.get(playerId);
+    }
+
+    synchronized CachedProfile byName(String name) {
+        UUID playerId = byName.get(key(name));
+        return playerId != null ? byId.get(playerId) : null;
+    }
+
+    synchronized void put(CachedProfile profile) {
+        CachedProfile previous = byId.put(profile.playerId(), profile);
+        if (previous != null) {
+            byName.remove(key(previous.name()), previous.playerId());
+        }
+        // Names can move between accounts; the latest sighting wins.
+        UUID displaced = byName.put(key(profile.name()), profile.playerId());
+        if (displaced != null && !displaced.equals(profile.playerId())) {
+            byId.remove(displaced);
+        }
+    }
+
+    synchronized void clear() {
+        byId.clear();
+        byName.clear();
+    }
+
+    synchronized int size() {
+        return byId.size();
+    }
+
+    static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,335 @@
+package com.yourorg.coinflip.profile;
+
+import com.destroystokyo.paper.profile.PlayerProfile;
+import com.destroystokyo.paper.profile.ProfileProperty;
+import com.yourorg.coinflip.CoinFlipPlugin;
+import com.yourorg.coinflip.storage.SqliteDatabase;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.inventory.meta.SkullMeta;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public final class ProfileService implements Listener {
+
+    private static final int CACHE_SIZE = 2048;
+    private static final int LOOKUP_THREADS = 2;
+    private static final long RETRY_AFTER_MILLIS = TimeUnit.MINUTES.toMillis(5L);
+    private static final String TEXTURES = "textures";
+
+    private static final String TABLE_SQL = """
+            CREATE TABLE IF NOT EXISTS player_profiles (
+                player_uuid TEXT PRIMARY KEY,
+                name TEXT NOT NULL,
+                name_lower TEXT NOT NULL,
+                texture TEXT,
+                signature TEXT,
+                updated_at INTEGER NOT NULL
+            )
+            """;
+
+    private static final String INDEX_SQL =
+            "CREATE INDEX IF NOT EXISTS idx_player_profiles_name ON player_profiles (name_lower)";
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO player_profiles (player_uuid, name, name_lower, texture, signature, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?)
+            ON CONFLICT(player_uuid) DO UPDATE SET
+                name = excluded.name,
+                name_lower = excluded.name_lower,
+                texture = COALESCE(excluded.texture, texture),
+                signature = CASE WHEN excluded.texture IS NULL THEN signature ELSE excluded.signature END,
+                updated_at = excluded.updated_at
+            """;
+
+    private static final String SELECT_BY_ID_SQL = """
+            SELECT player_uuid, name, texture, signature
+            FROM player_profiles
+            WHERE player_uuid = ?
+            """;
+
+    private static final String SELECT_BY_NAME_SQL = """
+            SELECT player_uuid, name, texture, signature
+            FROM player_profiles
+            WHERE name_lower = ?
+            ORDER BY updated_at DESC
+            LIMIT 1
+            """;
+
+    private final CoinFlipPlugin plugin;
+    private final SqliteDatabase database;
+    private final ProfileCache cache = new ProfileCache(CACHE_SIZE);
+    private final ExecutorService lookups;
+    private final Map<UUID, CompletableFuture<CachedProfile>> inFlight = new ConcurrentHashMap<>();
+    private final Map<UUID, Long> failedAt = new ConcurrentHashMap<>();
+    private final PlayerNameIndex onlineNames = new PlayerNameIndex();
+
+    public ProfileService(CoinFlipPlugin plugin) {
+        this.plugin = plugin;
+        this.database = plugin.database();
+        // Profile completion may block on Mojang; keep it off the main thread and off the database threads.
+        this.lookups = Executors.newFixedThreadPool(LOOKUP_THREADS, r -> {
+            Thread thread = new Thread(r, "CoinFlip-Profiles");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void init() {
+        Bukkit.getPluginManager().registerEvents(this, plugin);
+        database.write(session -> {
+            session.execute(TABLE_SQL);
+            session.execute(INDEX_SQL);
+            return null;
+        }).exceptionally(ex -> {
+            plugin.getLogger().severe("Failed to prepare profile database: " + ex.getMessage());
+            return null;
+        });
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            remember(player);
+            onlineNames.add(player.getUniqueId(), player.getName());
+        }
+    }
+
+    public void shutdown() {
+        lookups.shutdownNow();
+        inFlight.clear();
+        failedAt.clear();
+        cache.clear();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        Player player = event.getPlayer();
+        remember(player);
+        onlineNames.add(player.getUniqueId(), player.getName());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        onlineNames.remove(event.getPlayer().getUniqueId());
+    }
+
+    public PlayerNameIndex onlineNames() {
+        return onlineNames;
+    }
+
+    // Never blocks: a miss returns null and starts a background lookup.
+    public String name(UUID playerId) {
+        CachedProfile profile = cache.get(playerId);
+        if (profile != null) {
+            return profile.name();
+        }
+        resolve(playerId);
+        return null;
+    }
+
+    public String nameOrUnknown(UUID playerId) {
+        String name = name(playerId);
+        return name != null ? name : "Unknown";
+    }
+
+    public CachedProfile cached(UUID playerId) {
+        return cache.get(playerId);
+    }
+
+    // Completes with null when the profile cannot be found.
+    public CompletableFuture<CachedProfile> resolve(UUID playerId) {
+        CachedProfile cached = cache.get(playerId);
+        if (cached != null && cached.hasTexture()) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        if (recentlyFailed(playerId)) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        // Registered before the lookup starts, so its cleanup never runs inside a map update.
+        CompletableFuture<CachedProfile> pending = new CompletableFuture<>();
+        CompletableFuture<CachedProfile> running = inFlight.putIfAbsent(playerId, pending);
+        if (running != null) {
+            return running;
+        }
+        lookup(playerId).whenComplete((profile, ex) -> {
+            inFlight.remove(playerId, pending);
+            pending.complete(profile);
+        });
+        return pending;
+    }
+
+    public CompletableFuture<CachedProfile> resolve(String name) {
+        CachedProfile cached = cache.byName(name);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        Player online = Bukkit.getPlayerExact(name);
+        if (online != null) {
+            return CompletableFuture.completedFuture(remember(online));
+        }
+        return database.read(session -> select(session, SELECT_BY_NAME_SQL, ProfileCache.key(name)))
+                .exceptionally(ex -> null)
+                .thenCompose(stored -> {
+                    if (stored != null) {
+                        cache.put(stored);
+                        return CompletableFuture.completedFuture(stored);
+                    }
+                    return CompletableFuture.supplyAsync(() -> complete(Bukkit.createProfile(name), null), lookups)
+                            .thenApply(this::store);
+                });
+    }
+
+    public CompletableFuture<Map<UUID, String>> names(Collection<UUID> playerIds) {
+        Map<UUID, CompletableFuture<CachedProfile>> pending = new HashMap<>();
+        for (UUID playerId : new LinkedHashSet<>(playerIds)) {
+            CachedProfile cached = cache.get(playerId);
+            pending.put(playerId, cached != null ? CompletableFuture.completedFuture(cached) : resolve(playerId));
+        }
+        return CompletableFuture.allOf(pending.values().toArray(CompletableFuture[]::new))
+                .handle((ignored, ex) -> {
+                    Map<UUID, String> names = new HashMap<>();
+                    pending.forEach((playerId, future) -> {
+                        CachedProfile profile = future.getNow(null);
+                        if (profile != null) {
+                            names.put(playerId, profile.name());
+                        }
+                    });
+                    return names;
+                });
+    }
+
+    // Only applies textures that are already known, so building an item never triggers a lookup.
+    public boolean applyHead(SkullMeta meta, UUID playerId) {
+        CachedProfile profile = cache.get(playerId);
+        if (profile == null || !profile.hasTexture()) {
+            return false;
+        }
+        PlayerProfile head = Bukkit.createProfile(playerId, profile.name());
+        head.setProperty(new ProfileProperty(TEXTURES, profile.texture(), profile.signature()));
+        meta.setPlayerProfile(head);
+        return true;
+    }
+
+    public int cacheSize() {
+        return cache.size();
+    }
+
+    private CompletableFuture<CachedProfile> lookup(UUID playerId) {
+        return database.read(session -> select(session, SELECT_BY_ID_SQL, playerId.toString()))
+                .exceptionally(ex -> null)
+                .thenCompose(stored -> {
+                    if (stored != null && stored.hasTexture()) {
+                        return CompletableFuture.completedFuture(stored);
+                    }
+                    return CompletableFuture.supplyAsync(() -> complete(Bukkit.createProfile(playerId), stored), lookups)
+                            .thenApply(fetched -> fetched != stored ? store(fetched) : fetched);
+                })
+                .handle((profile, ex) -> {
+                    if (profile == null || !profile.hasTexture()) {
+                        failedAt.put(playerId, System.currentTimeMillis());
+                    }
+                    if (profile != null) {
+                        cache.put(profile);
+                    }
+                    return profile;
+                });
+    }
+
+    private boolean recentlyFailed(UUID playerId) {
+        Long failed = failedAt.get(playerId);
+        if (failed == null) {
+            return false;
+        }
+        if (System.currentTimeMillis() - failed < RETRY_AFTER_MILLIS) {
+            return true;
+        }
+        failedAt.remove(playerId, failed);
+        return false;
+    }
+
+    private CachedProfile remember(Player player) {
+        CachedProfile profile = fromPaper(player.getPlayerProfile());
+        if (profile == null) {
+            profile = new CachedProfile(player.getUniqueId(), player.getName(), null, null);
+        }
+        failedAt.remove(profile.playerId());
+        return store(profile);
+    }
+
+    private CachedProfile store(CachedProfile profile) {
+        if (profile == null) {
+            return null;
+        }
+        cache.put(profile);
+        database.write(session -> {
+            PreparedStatement statement = session.prepare(UPSERT_SQL);
+            statement.setString(1, profile.playerId().toString());
+            statement.setString(2, profile.name());
+            statement.setString(3, ProfileCache.key(profile.name()));
+            statement.setString(4, profile.texture());
+            statement.setString(5, profile.signature());
+            statement.setLong(6, Instant.now().getEpochSecond());
+            statement.executeUpdate();
+            return null;
+        }).exceptionally(ex -> {
+            plugin.getLogger().warning("Failed to store profile for " + profile.playerId() + ": " + ex.getMessage());
+            return null;
+        });
+        return profile;
+    }
+
+    private CachedProfile complete(PlayerProfile profile, CachedProfile fallback) {
+        try {
+            if (!profile.complete(true)) {
+                return fallback;
+            }
+            CachedProfile completed = fromPaper(profile);
+            return completed != null ? completed : fallback;
+        } catch (RuntimeException ex) {
+            plugin.getLogger().fine("Profile lookup failed: " + ex.getMessage());
+            return fallback;
+        }
+    }
+
+    private static CachedProfile fromPaper(PlayerProfile profile) {
+        if (profile == null || profile.getId() == null || profile.getName() == null) {
+            return null;
+        }
+        for (ProfileProperty property : profile.getProperties()) {
+            if (TEXTURES.equals(property.getName())) {
+                return new CachedProfile(profile.getId(), profile.getName(), property.getValue(), property.getSignature());
+            }
+        }
+        return new CachedProfile(profile.getId(), profile.getName(), null, null);
+    }
+
+    private static CachedProfile select(SqliteDatabase.Session session, String sql, String key) throws SQLException {
+        PreparedStatement statement = session.prepare(sql);
+        statement.setString(1, key);
+        try (ResultSet resultSet = statement.executeQuery()) {
+            if (!resultSet.next()) {
+                return null;
+            }
+            return new CachedProfile(
+                    UUID.fromString(resultSet.getString("player_uuid")),
+                    resultSet.getString("name"),
+                    resultSet.getString("texture"),
+                    resultSet.getString("signature"));
+        }
+    }
+}
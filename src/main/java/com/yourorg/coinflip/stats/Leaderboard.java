@@ -0,0 +1,95 @@
+package com.yourorg.coinflip.stats;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+
+final class Leaderboard {
+
+    private static final Comparator<Ranked> ORDER = Comparator.comparingDouble(Ranked::value).reversed()
+            .thenComparing(Ranked::playerId);
+
+    private final int size;
+    private final int capacity;
+    private final TreeSet<Ranked> ranked = new TreeSet<>(ORDER);
+    private final Map<UUID, Ranked> members = new HashMap<>();
+
+    // Upper bound on the value of every player that is not tracked; -Infinity when every player is tracked.
+    private double floor = Double.NEGATIVE_INFINITY;
+
+    Leaderboard(int size, int capacity) {
+        if (size <= 0 || capacity < size) {
+            throw new IllegalArgumentException("Capacity must be at least the positive board size");
+        }
+        this.size = size;
+        this.capacity = capacity;
+    }
+
+    synchronized void reset(Map<UUID, Double> values, double floor) {
+        ranked.clear();
+        members.clear();
+        this.floor = floor;
+        values.forEach(this::update);
+    }
+
+    synchronized void update(UUID playerId, double value) {
+        Ranked previous = members.remove(playerId);
+        if (previous != null) {
+            ranked.remove(previous);
+        }
+        // Someone untracked may now outrank a value under the floor, so it cannot stay on the board.
+        if (value < floor) {
+            return;
+        }
+        insert(playerId, value);
+    }
+
+    synchronized List<LeaderboardEntry> page(int offset, int limit) {
+        int end = Math.min(size, Math.min(ranked.size(), offset + limit));
+        if (offset < 0 || offset >= end) {
+            return Collections.emptyList();
+        }
+        List<LeaderboardEntry> entries = new ArrayList<>(end - offset);
+        Iterator<Ranked> iterator = ranked.iterator();
+        for (int index = 0; index < end; index++) {
+            Ranked entry = iterator.next();
+            if (index >= offset) {
+                entries.add(new LeaderboardEntry(index + 1, entry.playerId(), entry.value()));
+            }
+        }
+        return entries;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    synchronized int size() {
+        return Math.min(size, ranked.size());
+    }
+
+    // The visible ranks are only exact while enough players are tracked or nobody is untracked.
+    synchronized boolean underflowed() {
+        return ranked.size() < size && floor != Double.NEGATIVE_INFINITY;
+    }
+
+    private void insert(UUID playerId, double value) {
+        Ranked entry = new Ranked(playerId, value);
+        ranked.add(entry);
+        members.put(playerId, entry);
+        if (ranked.size() > capacity) {
+            Ranked evicted = ranked.pollLast();
+            members.remove(evicted.playerId());
+            floor = Math.max(floor, evicted.value());
+        }
+    }
+
+    private record Ranked(UUID playerId, double value) {
+    }
+}
@@ -0,0 +1,6 @@
+package com.yourorg.coinflip.stats;
+
+import java.util.UUID;
+
+public record LeaderboardEntry(int rank, UUID playerId, double value) {
+}
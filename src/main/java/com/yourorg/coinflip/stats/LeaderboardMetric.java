@@ -0,0 +1,50 @@
+package com.yourorg.coinflip.stats;
+
+import java.util.function.ToDoubleFunction;
+
+public enum LeaderboardMetric {
+    WINS("Wins", "wins", false, stats -> stats.wins()),
+    NET_PROFIT("Net Profit", "(total_won - total_lost)", true, stats -> stats.netProfitMinor()),
+    WAGERED("Wagered", "total_wagered", true, stats -> stats.totalWageredMinor());
+
+    private final String displayName;
+    private final String sqlExpression;
+    private final boolean money;
+    private final ToDoubleFunction<PlayerStats> extractor;
+
+    LeaderboardMetric(String displayName, String sqlExpression, boolean money, ToDoubleFunction<PlayerStats> extractor) {
+        this.displayName = displayName;
+        this.sqlExpression = sqlExpression;
+        this.money = money;
+        this.extractor = extractor;
+    }
+
+    public String displayName() {
+        return displayName;
+    }
+
+    // Money metrics rank by minor units.
+    public boolean money() {
+        return money;
+    }
+
+    public double valueOf(PlayerStats stats) {
+        return extractor.applyAsDouble(stats);
+    }
+
+    String sqlExpression() {
+        return sqlExpression;
+    }
+
+    public static LeaderboardMetric parse(String input) {
+        if (input == null) {
+            return null;
+        }
+        return switch (input.toLowerCase()) {
+            case "wins" -> WINS;
+            case "profit", "net", "netprofit" -> NET_PROFIT;
+            case "wagered", "volume" -> WAGERED;
+            default -> null;
+        };
+    }
+}
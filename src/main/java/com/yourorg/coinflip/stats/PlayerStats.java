@@ -7,19 +7,24 @@ public record PlayerStats(
         UUID playerId,
         int wins,
         int losses,
-        double totalWon,
-        double totalLost,
+        long totalWonMinor,
+        long totalLostMinor,
+        long totalWageredMinor,
         long lastPlayedEpochSeconds
 ) {
 
     public static PlayerStats empty(UUID playerId) {
-        return new PlayerStats(playerId, 0, 0, 0.0D, 0.0D, 0L);
+        return new PlayerStats(playerId, 0, 0, 0L, 0L, 0L, 0L);
     }
 
     public int totalGames() {
         return wins + losses;
     }
 
+    public long netProfitMinor() {
+        return totalWonMinor - totalLostMinor;
+    }
+
     public Instant lastPlayed() {
         if (lastPlayedEpochSeconds <= 0) {
             return Instant.EPOCH;
@@ -0,0 +1,80 @@
+package com.yourorg.coinflip.stats;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+final class StatsCache {
+
+    private final int capacity;
+    private final LinkedHashMap<UUID, PlayerStats> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    StatsCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        // Access order turns iteration order into least-recently-used first.
+        this.entries = new LinkedHashMap<>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, PlayerStats> eldest) {
+                return size() > StatsCache.this.capacity;
+            }
+        };
+    }
+
+    synchronized PlayerStats get(UUID playerId) {
+        PlayerStats stats = entries.get(playerId);
+        if (stats == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return stats;
+    }
+
+    synchronized boolean contains(UUID playerId) {
+        return entries.containsKey(playerId);
+    }
+
+    synchronized PlayerStats peek(UUID playerId) {
+        return entries.get(playerId);
+    }
+
+    synchronized PlayerStats putIfAbsent(PlayerStats stats) {
+        PlayerStats existing = entries.putIfAbsent(stats.playerId(), stats);
+        return existing == null ? stats : existing;
+    }
+
+    synchronized PlayerStats updateIfPresent(UUID playerId, UnaryOperator<PlayerStats> update) {
+        return entries.computeIfPresent(playerId, (id, stats) -> update.apply(stats));
+    }
+
+    synchronized void invalidate(UUID playerId) {
+        entries.remove(playerId);
+    }
+
+    synchronized void clear() {
+        entries.clear();
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    long hits() {
+        return hits.sum();
+    }
+
+    long misses() {
+        return misses.sum();
+    }
+}
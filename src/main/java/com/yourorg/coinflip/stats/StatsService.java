@@ -1,148 +1,396 @@
 package com.yourorg.coinflip.stats;
 
 import com.yourorg.coinflip.CoinFlipPlugin;
+import com.yourorg.coinflip.storage.SqliteDatabase;
+import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
 
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
-public final class StatsService {
+public final class StatsService implements Listener {
+
+    private static final long FLUSH_INTERVAL_SECONDS = 5L;
+    private static final int FLUSH_BATCH_SIZE = 256;
 
     private static final String TABLE_SQL = """
             CREATE TABLE IF NOT EXISTS player_stats (
                 player_uuid TEXT PRIMARY KEY,
                 wins INTEGER NOT NULL DEFAULT 0,
                 losses INTEGER NOT NULL DEFAULT 0,
-                total_won REAL NOT NULL DEFAULT 0,
-                total_lost REAL NOT NULL DEFAULT 0,
-                last_play_ts INTEGER NOT NULL DEFAULT 0
+                total_won INTEGER NOT NULL DEFAULT 0,
+                total_lost INTEGER NOT NULL DEFAULT 0,
+                last_play_ts INTEGER NOT NULL DEFAULT 0,
+                total_wagered INTEGER NOT NULL DEFAULT 0
             )
             """;
 
+    private static final String[] INDEX_SQL = {
+            "CREATE INDEX IF NOT EXISTS idx_player_stats_wins ON player_stats (wins)",
+            "CREATE INDEX IF NOT EXISTS idx_player_stats_profit ON player_stats ((total_won - total_lost))",
+            "CREATE INDEX IF NOT EXISTS idx_player_stats_wagered ON player_stats (total_wagered)"
+    };
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO player_stats (player_uuid, wins, losses, total_won, total_lost, total_wagered, last_play_ts)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT(player_uuid) DO UPDATE SET
+                wins = wins + excluded.wins,
+                losses = losses + excluded.losses,
+                total_won = total_won + excluded.total_won,
+                total_lost = total_lost + excluded.total_lost,
+                total_wagered = total_wagered + excluded.total_wagered,
+                last_play_ts = excluded.last_play_ts
+            """;
+
+    private static final String SELECT_SQL = """
+            SELECT player_uuid, wins, losses, total_won, total_lost, total_wagered, last_play_ts
+            FROM player_stats
+            WHERE player_uuid = ?
+            """;
+
+    private static final String TOP_SQL = """
+            SELECT player_uuid, wins, losses, total_won, total_lost, total_wagered, last_play_ts
+            FROM player_stats
+            ORDER BY %s DESC
+            LIMIT ?
+            """;
+
     private final CoinFlipPlugin plugin;
-    private final Path databasePath;
-    private final ExecutorService executor;
+    private final SqliteDatabase database;
+    private final Map<UUID, StatsDelta> pending = new HashMap<>();
+    private final StatsCache cache;
+    private final Map<LeaderboardMetric, Leaderboard> leaderboards = new EnumMap<>(LeaderboardMetric.class);
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    // Guarded by pending; odd while a flush is being committed.
+    private long flushSequence;
 
     public StatsService(CoinFlipPlugin plugin) {
         this.plugin = plugin;
-        this.databasePath = plugin.getDataFolder().toPath().resolve("data.db");
-        this.executor = Executors.newSingleThreadExecutor(r -> {
-            Thread thread = new Thread(r, "CoinFlip-Stats");
-            thread.setDaemon(true);
-            return thread;
-        });
+        this.database = plugin.database();
+        this.cache = new StatsCache(plugin.config().stats().cacheSize());
+        int boardSize = plugin.config().stats().leaderboardSize();
+        // Tracking a few extra players lets net profit drop out of the top without forcing a rescan.
+        int boardCapacity = boardSize + Math.max(16, boardSize / 2);
+        for (LeaderboardMetric metric : LeaderboardMetric.values()) {
+            leaderboards.put(metric, new Leaderboard(boardSize, boardCapacity));
+        }
     }
 
     public void init() {
-        try {
-            Files.createDirectories(databasePath.getParent());
-        } catch (Exception ex) {
-            plugin.getLogger().severe("Failed to create data directory: " + ex.getMessage());
-        }
-        runAsync(() -> {
-            try (Connection connection = getConnection();
-                 Statement statement = connection.createStatement()) {
-                statement.executeUpdate(TABLE_SQL);
-            } catch (SQLException ex) {
-                plugin.getLogger().severe("Failed to prepare stats database: " + ex.getMessage());
+        Bukkit.getPluginManager().registerEvents(this, plugin);
+        database.write(session -> {
+            session.execute(TABLE_SQL);
+            for (String sql : INDEX_SQL) {
+                session.execute(sql);
             }
+            return null;
+        }).exceptionally(ex -> {
+            plugin.getLogger().severe("Failed to prepare stats database: " + ex.getMessage());
+            return null;
         });
+        database.scheduleWrite(this::flush, FLUSH_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        rebuildLeaderboards();
     }
 
     public void shutdown() {
-        executor.shutdownNow();
+        database.write(this::flush).exceptionally(ex -> {
+            plugin.getLogger().severe("Failed to flush stats on shutdown: " + ex.getMessage());
+            return null;
+        }).join();
+        cache.clear();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        UUID playerId = event.getPlayer().getUniqueId();
+        if (!cache.contains(playerId)) {
+            load(playerId);
+        }
     }
 
-    public void recordResult(UUID winner, UUID loser, double winnings, double loss) {
+    public void recordResult(UUID winner, UUID loser, long winnings, long loss, long wagered) {
         long now = Instant.now().getEpochSecond();
-        runAsync(() -> {
-            try (Connection connection = getConnection()) {
-                updateStats(connection, winner, 1, 0, winnings, 0, now);
-                updateStats(connection, loser, 0, 1, 0, loss, now);
-            } catch (SQLException ex) {
-                plugin.getLogger().severe("Failed to record stats: " + ex.getMessage());
-            }
-        });
+        boolean full;
+        synchronized (pending) {
+            record(winner, 1, 0, winnings, 0, wagered, now);
+            record(loser, 0, 1, 0, loss, wagered, now);
+            full = pending.size() >= FLUSH_BATCH_SIZE;
+        }
+        if (full) {
+            database.write(this::flush);
+        }
+        if (leaderboards.values().stream().anyMatch(Leaderboard::underflowed)) {
+            rebuildLeaderboards();
+        }
     }
 
     public CompletableFuture<PlayerStats> fetchStats(UUID playerUuid) {
-        return CompletableFuture.supplyAsync(() -> {
-            try (Connection connection = getConnection()) {
-                return selectStats(connection, playerUuid);
-            } catch (SQLException ex) {
-                plugin.getLogger().severe("Failed to fetch stats: " + ex.getMessage());
-                return PlayerStats.empty(playerUuid);
-            }
-        }, executor);
+        PlayerStats cached = cache.get(playerUuid);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return load(playerUuid);
     }
 
     public CompletableFuture<PlayerStats> fetchStats(OfflinePlayer player) {
         return fetchStats(player.getUniqueId());
     }
 
-    private void updateStats(Connection connection, UUID playerId,
-                             int winIncrement, int lossIncrement,
-                             double wonIncrement, double lostIncrement,
-                             long lastPlayed) throws SQLException {
-        try (PreparedStatement statement = connection.prepareStatement("""
-                INSERT INTO player_stats (player_uuid, wins, losses, total_won, total_lost, last_play_ts)
-                VALUES (?, ?, ?, ?, ?, ?)
-                ON CONFLICT(player_uuid) DO UPDATE SET
-                    wins = wins + excluded.wins,
-                    losses = losses + excluded.losses,
-                    total_won = total_won + excluded.total_won,
-                    total_lost = total_lost + excluded.total_lost,
-                    last_play_ts = excluded.last_play_ts
-                """)) {
-            statement.setString(1, playerId.toString());
-            statement.setInt(2, winIncrement);
-            statement.setInt(3, lossIncrement);
-            statement.setDouble(4, wonIncrement);
-            statement.setDouble(5, lostIncrement);
-            statement.setLong(6, lastPlayed);
-            statement.executeUpdate();
-        }
-    }
-
-    private PlayerStats selectStats(Connection connection, UUID playerId) throws SQLException {
-        try (PreparedStatement statement = connection.prepareStatement("""
-                SELECT wins, losses, total_won, total_lost, last_play_ts
-                FROM player_stats
-                WHERE player_uuid = ?
-                """)) {
-            statement.setString(1, playerId.toString());
-            try (ResultSet rs = statement.executeQuery()) {
-                if (rs.next()) {
-                    int wins = rs.getInt("wins");
-                    int losses = rs.getInt("losses");
-                    double totalWon = rs.getDouble("total_won");
-                    double totalLost = rs.getDouble("total_lost");
-                    long lastPlayed = rs.getLong("last_play_ts");
-                    return new PlayerStats(playerId, wins, losses, totalWon, totalLost, lastPlayed);
+    public long cacheHits() {
+        return cache.hits();
+    }
+
+    public long cacheMisses() {
+        return cache.misses();
+    }
+
+    public int cacheSize() {
+        return cache.size();
+    }
+
+    public List<LeaderboardEntry> leaderboard(LeaderboardMetric metric, int offset, int limit) {
+        return leaderboards.get(metric).page(offset, limit);
+    }
+
+    public int leaderboardSize(LeaderboardMetric metric) {
+        return leaderboards.get(metric).size();
+    }
+
+    // Caller holds the pending lock, so a concurrent load either sees this delta or finds the cached entry it updated.
+    private void record(UUID playerId, int wins, int losses, long won, long lost, long wagered, long playedAt) {
+        StatsDelta delta = new StatsDelta();
+        delta.add(wins, losses, won, lost, wagered, playedAt);
+        pending.merge(playerId, delta, StatsDelta::merge);
+        PlayerStats updated = cache.updateIfPresent(playerId, delta::applyTo);
+        if (updated != null) {
+            rank(updated);
+        } else {
+            // The boards need the full totals, which only a load can supply for an uncached player.
+            load(playerId);
+        }
+    }
+
+    // Caller holds the pending lock.
+    private PlayerStats cacheAndRank(PlayerStats stats) {
+        PlayerStats cached = cache.putIfAbsent(stats);
+        rank(cached);
+        return cached;
+    }
+
+    private void rank(PlayerStats stats) {
+        for (Map.Entry<LeaderboardMetric, Leaderboard> entry : leaderboards.entrySet()) {
+            entry.getValue().update(stats.playerId(), entry.getKey().valueOf(stats));
+        }
+    }
+
+    private void rebuildLeaderboards() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        database.write(session -> {
+            try {
+                for (LeaderboardMetric metric : LeaderboardMetric.values()) {
+                    rebuild(session, metric);
                 }
+            } finally {
+                rebuilding.set(false);
+            }
+            return null;
+        }).exceptionally(ex -> {
+            plugin.getLogger().severe("Failed to rebuild leaderboards: " + ex.getMessage());
+            return null;
+        });
+    }
+
+    // Runs on the writer thread, so no flush can move rows between the query and the overlay below.
+    private void rebuild(SqliteDatabase.Session session, LeaderboardMetric metric) throws SQLException {
+        Leaderboard board = leaderboards.get(metric);
+        int capacity = board.capacity();
+        PreparedStatement statement = session.prepare(TOP_SQL.formatted(metric.sqlExpression()));
+        statement.setInt(1, capacity);
+        List<PlayerStats> rows = new ArrayList<>();
+        try (ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                rows.add(readStats(rs));
+            }
+        }
+        double floor = rows.size() < capacity ? Double.NEGATIVE_INFINITY : metric.valueOf(rows.get(rows.size() - 1));
+
+        synchronized (pending) {
+            Map<UUID, Double> values = new LinkedHashMap<>();
+            for (PlayerStats row : rows) {
+                PlayerStats cached = cache.peek(row.playerId());
+                values.put(row.playerId(), metric.valueOf(cached != null ? cached : applyPending(row)));
+            }
+            board.reset(values, floor);
+            // Unflushed results can lift a player past the floor; their cached totals already include them.
+            for (UUID playerId : pending.keySet()) {
+                PlayerStats cached = cache.peek(playerId);
+                if (cached != null) {
+                    board.update(playerId, metric.valueOf(cached));
+                }
+            }
+        }
+    }
+
+    private CompletableFuture<PlayerStats> load(UUID playerUuid) {
+        return database.read(session -> readConsistent(session, playerUuid))
+                .thenCompose(stats -> {
+                    if (stats != null) {
+                        return CompletableFuture.completedFuture(stats);
+                    }
+                    // A flush overlapped the read; the writer thread sees the database and buffer in step.
+                    return database.write(session -> withPending(selectStats(session, playerUuid)));
+                })
+                .exceptionally(ex -> {
+                    plugin.getLogger().severe("Failed to fetch stats: " + ex.getMessage());
+                    return PlayerStats.empty(playerUuid);
+                });
+    }
+
+    private PlayerStats readConsistent(SqliteDatabase.Session session, UUID playerId) throws SQLException {
+        long sequence;
+        synchronized (pending) {
+            sequence = flushSequence;
+        }
+        if ((sequence & 1L) != 0L) {
+            return null;
+        }
+        PlayerStats stored = selectStats(session, playerId);
+        synchronized (pending) {
+            if (flushSequence != sequence) {
+                return null;
+            }
+            return cacheAndRank(applyPending(stored));
+        }
+    }
+
+    private PlayerStats withPending(PlayerStats stored) {
+        synchronized (pending) {
+            return cacheAndRank(applyPending(stored));
+        }
+    }
+
+    private PlayerStats applyPending(PlayerStats stored) {
+        StatsDelta delta = pending.get(stored.playerId());
+        return delta == null ? stored : delta.applyTo(stored);
+    }
+
+    // Must run on the database writer thread.
+    private Void flush(SqliteDatabase.Session session) {
+        Map<UUID, StatsDelta> batch;
+        synchronized (pending) {
+            if (pending.isEmpty()) {
+                return null;
+            }
+            batch = new HashMap<>(pending);
+            pending.clear();
+            flushSequence++;
+        }
+        boolean committed = false;
+        try {
+            session.transaction(() -> updateStats(session, batch));
+            committed = true;
+        } catch (SQLException ex) {
+            plugin.getLogger().severe("Failed to record stats: " + ex.getMessage());
+        } finally {
+            synchronized (pending) {
+                if (!committed) {
+                    batch.forEach((playerId, delta) -> pending.merge(playerId, delta, StatsDelta::merge));
+                }
+                flushSequence++;
+            }
+        }
+        return null;
+    }
+
+    private void updateStats(SqliteDatabase.Session session, Map<UUID, StatsDelta> batch) throws SQLException {
+        PreparedStatement statement = session.prepare(UPSERT_SQL);
+        for (Map.Entry<UUID, StatsDelta> entry : batch.entrySet()) {
+            StatsDelta delta = entry.getValue();
+            statement.setString(1, entry.getKey().toString());
+            statement.setInt(2, delta.wins);
+            statement.setInt(3, delta.losses);
+            statement.setLong(4, delta.totalWon);
+            statement.setLong(5, delta.totalLost);
+            statement.setLong(6, delta.totalWagered);
+            statement.setLong(7, delta.lastPlayed);
+            statement.addBatch();
+        }
+        statement.executeBatch();
+    }
+
+    private PlayerStats selectStats(SqliteDatabase.Session session, UUID playerId) throws SQLException {
+        PreparedStatement statement = session.prepare(SELECT_SQL);
+        statement.setString(1, playerId.toString());
+        try (ResultSet rs = statement.executeQuery()) {
+            if (rs.next()) {
+                return readStats(rs);
             }
         }
         return PlayerStats.empty(playerId);
     }
 
-    private Connection getConnection() throws SQLException {
-        String url = "jdbc:sqlite:" + databasePath.toAbsolutePath();
-        return DriverManager.getConnection(url);
+    private PlayerStats readStats(ResultSet rs) throws SQLException {
+        return new PlayerStats(UUID.fromString(rs.getString("player_uuid")),
+                rs.getInt("wins"),
+                rs.getInt("losses"),
+                rs.getLong("total_won"),
+                rs.getLong("total_lost"),
+                rs.getLong("total_wagered"),
+                rs.getLong("last_play_ts"));
     }
 
-    private void runAsync(Runnable runnable) {
-        executor.submit(runnable);
+    private static final class StatsDelta {
+
+        private int wins;
+        private int losses;
+        private long totalWon;
+        private long totalLost;
+        private long totalWagered;
+        private long lastPlayed;
+
+        void add(int wins, int losses, long won, long lost, long wagered, long playedAt) {
+            this.wins += wins;
+            this.losses += losses;
+            this.totalWon += won;
+            this.totalLost += lost;
+            this.totalWagered += wagered;
+            this.lastPlayed = Math.max(this.lastPlayed, playedAt);
+        }
+
+        StatsDelta merge(StatsDelta other) {
+            add(other.wins, other.losses, other.totalWon, other.totalLost, other.totalWagered, other.lastPlayed);
+            return this;
+        }
+
+        PlayerStats applyTo(PlayerStats stats) {
+            return new PlayerStats(stats.playerId(),
+                    stats.wins() + wins,
+                    stats.losses() + losses,
+                    stats.totalWonMinor() + totalWon,
+                    stats.totalLostMinor() + totalLost,
+                    stats.totalWageredMinor() + totalWagered,
+                    Math.max(stats.lastPlayedEpochSeconds(), lastPlayed));
+        }
     }
 }
 
@@ -0,0 +1,123 @@
+package com.yourorg.coinflip.storage;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.logging.Logger;
+
+// Tracks the database layout in PRAGMA user_version. Runs on the writer before any service touches its tables,
+// so a fresh file simply jumps to the current version and the services create their tables as usual.
+final class SchemaMigrations {
+
+    static final int CURRENT_VERSION = 1;
+
+    // Snapshot of the version 1 layouts; later changes to the live DDL must not alter what this step produces.
+    private static final String MINOR_STATS_SQL = """
+            CREATE TABLE player_stats_minor (
+                player_uuid TEXT PRIMARY KEY,
+                wins INTEGER NOT NULL DEFAULT 0,
+                losses INTEGER NOT NULL DEFAULT 0,
+                total_won INTEGER NOT NULL DEFAULT 0,
+                total_lost INTEGER NOT NULL DEFAULT 0,
+                last_play_ts INTEGER NOT NULL DEFAULT 0,
+                total_wagered INTEGER NOT NULL DEFAULT 0
+            )
+            """;
+
+    private static final String COPY_STATS_SQL = """
+            INSERT INTO player_stats_minor (player_uuid, wins, losses, total_won, total_lost, last_play_ts, total_wagered)
+            SELECT player_uuid, wins, losses,
+                   CAST(ROUND(total_won * 100) AS INTEGER),
+                   CAST(ROUND(total_lost * 100) AS INTEGER),
+                   last_play_ts,
+                   %s
+            FROM player_stats
+            """;
+
+    private static final String MINOR_HISTORY_SQL = """
+            CREATE TABLE game_history_minor (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                game_uuid TEXT NOT NULL,
+                creator_uuid TEXT NOT NULL,
+                acceptor_uuid TEXT NOT NULL,
+                winner_uuid TEXT NOT NULL,
+                amount INTEGER NOT NULL,
+                tax INTEGER NOT NULL,
+                proof INTEGER NOT NULL,
+                resolved_at INTEGER NOT NULL
+            )
+            """;
+
+    private static final String COPY_HISTORY_SQL = """
+            INSERT INTO game_history_minor (id, game_uuid, creator_uuid, acceptor_uuid, winner_uuid, amount, tax, proof, resolved_at)
+            SELECT id, game_uuid, creator_uuid, acceptor_uuid, winner_uuid,
+                   CAST(ROUND(amount * 100) AS INTEGER),
+                   CAST(ROUND(tax * 100) AS INTEGER),
+                   proof, resolved_at
+            FROM game_history
+            """;
+
+    private SchemaMigrations() {
+    }
+
+    static void migrate(SqliteDatabase.Session session, Logger logger) throws SQLException {
+        int version = userVersion(session);
+        if (version >= CURRENT_VERSION) {
+            return;
+        }
+        session.transaction(() -> {
+            if (version < 1) {
+                moneyToMinorUnits(session, logger);
+            }
+            session.execute("PRAGMA user_version = " + CURRENT_VERSION);
+        });
+    }
+
+    // Version 1: money columns hold long minor units (hundredths) instead of REAL major units.
+    private static void moneyToMinorUnits(SqliteDatabase.Session session, Logger logger) throws SQLException {
+        if (tableExists(session, "player_stats")) {
+            session.execute(MINOR_STATS_SQL);
+            String wagered = hasColumn(session, "player_stats", "total_wagered")
+                    ? "CAST(ROUND(total_wagered * 100) AS INTEGER)"
+                    : "0";
+            session.execute(COPY_STATS_SQL.formatted(wagered));
+            session.execute("DROP TABLE player_stats");
+            session.execute("ALTER TABLE player_stats_minor RENAME TO player_stats");
+            logger.info("Migrated player_stats amounts to minor units.");
+        }
+        if (tableExists(session, "game_history")) {
+            session.execute(MINOR_HISTORY_SQL);
+            session.execute(COPY_HISTORY_SQL);
+            session.execute("DROP TABLE game_history");
+            session.execute("ALTER TABLE game_history_minor RENAME TO game_history");
+            logger.info("Migrated game_history amounts to minor units.");
+        }
+    }
+
+    private static int userVersion(SqliteDatabase.Session session) throws SQLException {
+        try (Statement statement = session.connection().createStatement();
+             ResultSet rs = statement.executeQuery("PRAGMA user_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    private static boolean tableExists(SqliteDatabase.Session session, String table) throws SQLException {
+        try (Statement statement = session.connection().createStatement();
+             ResultSet rs = statement.executeQuery(
+                     "SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = '" + table + "'")) {
+            return rs.next();
+        }
+    }
+
+    private static boolean hasColumn(SqliteDatabase.Session session, String table, String column) throws SQLException {
+        try (Statement statement = session.connection().createStatement();
+             ResultSet rs = statement.executeQuery("PRAGMA table_info(" + table + ")")) {
+            while (rs.next()) {
+                if (column.equalsIgnoreCase(rs.getString("name"))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
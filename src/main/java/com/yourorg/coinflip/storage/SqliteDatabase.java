@@ -0,0 +1,238 @@
+package com.yourorg.coinflip.storage;
+
+import com.yourorg.coinflip.CoinFlipPlugin;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+public final class SqliteDatabase {
+
+    private static final String[] WRITER_PRAGMAS = {
+            "PRAGMA journal_mode = WAL",
+            "PRAGMA synchronous = NORMAL",
+            "PRAGMA cache_size = -8000",
+            "PRAGMA temp_store = MEMORY",
+            "PRAGMA busy_timeout = 5000"
+    };
+    private static final String[] READER_PRAGMAS = {
+            "PRAGMA cache_size = -4000",
+            "PRAGMA temp_store = MEMORY",
+            "PRAGMA busy_timeout = 5000",
+            "PRAGMA query_only = true"
+    };
+
+    private final Path path;
+    private final Logger logger;
+    private final ScheduledExecutorService writer;
+    private final ExecutorService reader;
+
+    private Session writeSession;
+    private Session readSession;
+
+    public SqliteDatabase(CoinFlipPlugin plugin) {
+        this(plugin.getDataFolder().toPath().resolve("data.db"), plugin.getLogger());
+    }
+
+    public SqliteDatabase(Path path, Logger logger) {
+        this.path = path;
+        this.logger = logger;
+        this.writer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "CoinFlip-DB-Writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.reader = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "CoinFlip-DB-Reader");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void open() {
+        try {
+            Files.createDirectories(path.getParent());
+        } catch (Exception ex) {
+            logger.severe("Failed to create data directory: " + ex.getMessage());
+        }
+        // The writer switches the file to WAL first so the reader opens against the same journal mode.
+        writer.execute(() -> {
+            writeSession = connect(WRITER_PRAGMAS);
+            migrate();
+        });
+        reader.execute(() -> {
+            awaitWriterReady();
+            readSession = connect(READER_PRAGMAS);
+        });
+    }
+
+    public void close() {
+        shutdown(reader);
+        shutdown(writer);
+        closeSession(readSession);
+        closeSession(writeSession);
+        readSession = null;
+        writeSession = null;
+    }
+
+    public <T> CompletableFuture<T> write(SqlWork<T> work) {
+        return CompletableFuture.supplyAsync(() -> run(writeSession, work), writer);
+    }
+
+    public <T> CompletableFuture<T> read(SqlWork<T> work) {
+        return CompletableFuture.supplyAsync(() -> run(readSession, work), reader);
+    }
+
+    public ScheduledFuture<?> scheduleWrite(SqlWork<?> work, long period, TimeUnit unit) {
+        return writer.scheduleWithFixedDelay(() -> {
+            try {
+                run(writeSession, work);
+            } catch (CompletionException ex) {
+                logger.severe("Scheduled database write failed: " + ex.getCause().getMessage());
+            }
+        }, period, period, unit);
+    }
+
+    private <T> T run(Session session, SqlWork<T> work) {
+        if (session == null) {
+            throw new CompletionException(new SQLException("Database connection is not open"));
+        }
+        try {
+            return work.run(session);
+        } catch (SQLException ex) {
+            throw new CompletionException(ex);
+        }
+    }
+
+    private Session connect(String[] pragmas) {
+        try {
+            Connection connection = DriverManager.getConnection("jdbc:sqlite:" + path.toAbsolutePath());
+            try (Statement statement = connection.createStatement()) {
+                for (String pragma : pragmas) {
+                    statement.execute(pragma);
+                }
+            }
+            return new Session(connection);
+        } catch (SQLException ex) {
+            logger.severe("Failed to open database: " + ex.getMessage());
+            return null;
+        }
+    }
+
+    private void migrate() {
+        if (writeSession == null) {
+            return;
+        }
+        try {
+            SchemaMigrations.migrate(writeSession, logger);
+        } catch (SQLException ex) {
+            logger.severe("Failed to migrate database schema: " + ex.getMessage());
+        }
+    }
+
+    private void awaitWriterReady() {
+        try {
+            writer.submit(() -> {
+            }).get(10, TimeUnit.SECONDS);
+        } catch (Exception ex) {
+            logger.warning("Database writer was slow to open: " + ex.getMessage());
+        }
+    }
+
+    private void shutdown(ExecutorService executor) {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                logger.severe("Database work did not finish before shutdown.");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void closeSession(Session session) {
+        if (session == null) {
+            return;
+        }
+        try {
+            session.close();
+        } catch (SQLException ex) {
+            logger.warning("Failed to close database connection: " + ex.getMessage());
+        }
+    }
+
+    @FunctionalInterface
+    public interface SqlWork<T> {
+        T run(Session session) throws SQLException;
+    }
+
+    @FunctionalInterface
+    public interface SqlAction {
+        void run() throws SQLException;
+    }
+
+    public static final class Session {
+
+        private final Connection connection;
+        private final Map<String, PreparedStatement> statements = new HashMap<>();
+
+        private Session(Connection connection) {
+            this.connection = connection;
+        }
+
+        public Connection connection() {
+            return connection;
+        }
+
+        public PreparedStatement prepare(String sql) throws SQLException {
+            PreparedStatement statement = statements.get(sql);
+            if (statement == null) {
+                statement = connection.prepareStatement(sql);
+                statements.put(sql, statement);
+            }
+            statement.clearParameters();
+            return statement;
+        }
+
+        public void execute(String sql) throws SQLException {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(sql);
+            }
+        }
+
+        public void transaction(SqlAction action) throws SQLException {
+            connection.setAutoCommit(false);
+            try {
+                action.run();
+                connection.commit();
+            } catch (SQLException | RuntimeException ex) {
+                connection.rollback();
+                throw ex;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+
+        private void close() throws SQLException {
+            for (PreparedStatement statement : statements.values()) {
+                statement.close();
+            }
+            statements.clear();
+            connection.close();
+        }
+    }
+}
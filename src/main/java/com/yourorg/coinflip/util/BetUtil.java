@@ -2,34 +2,48 @@ package com.yourorg.coinflip.util;
 
 import com.yourorg.coinflip.config.CoinFlipConfig;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
 public final class BetUtil {
 
+    private static final BigDecimal MAX_STAKE = BigDecimal.valueOf(Money.MAX_STAKE_MINOR, 2);
+
     private BetUtil() {
     }
 
-    public static double parseAmount(String input, CoinFlipConfig.EconomySettings settings, boolean bypass) {
-        double amount;
+    // Parsed exactly and returned in minor units, so every check sees the stake that will actually be withdrawn.
+    public static long parseAmount(String input, CoinFlipConfig.EconomySettings settings, boolean bypass) {
+        BigDecimal amount;
         try {
-            amount = Double.parseDouble(input);
+            amount = new BigDecimal(input.trim());
         } catch (NumberFormatException ex) {
             throw new IllegalArgumentException("Invalid number", ex);
         }
 
-        if (Double.isNaN(amount) || Double.isInfinite(amount) || amount <= 0) {
+        if (amount.signum() <= 0) {
             throw new IllegalArgumentException("Amount must be positive");
         }
 
-        if (settings.requireWholeNumbers() && amount != Math.floor(amount)) {
+        if (settings.requireWholeNumbers() && amount.stripTrailingZeros().scale() > 0) {
             throw new IllegalArgumentException("Amount must be whole number");
         }
 
+        if (amount.compareTo(MAX_STAKE) > 0) {
+            throw new IllegalArgumentException("Amount too large");
+        }
+        long minor = amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+        if (minor <= 0L) {
+            throw new IllegalArgumentException("Amount smaller than one cent");
+        }
+
         if (!bypass) {
-            if (amount < settings.minBet() || amount > settings.maxBet()) {
+            if (minor < Money.toMinor(settings.minBet()) || minor > Money.toMinor(settings.maxBet())) {
                 throw new IllegalArgumentException("Amount outside limits");
             }
         }
 
-        return amount;
+        return minor;
     }
 
     public static double maxBalanceBet(double balance, CoinFlipConfig.EconomySettings settings) {
@@ -0,0 +1,42 @@
+package com.yourorg.coinflip.util;
+
+import java.util.Arrays;
+import java.util.function.DoubleFunction;
+
+// Direct-mapped: each amount hashes to one slot and a collision simply overwrites it.
+// Entries are immutable, so racing writers can only cost a recomputation, never a wrong string.
+public final class FormatCache {
+
+    private final Entry[] slots;
+    private final int mask;
+
+    public FormatCache(int size) {
+        int capacity = Integer.highestOneBit(Math.max(16, size - 1) << 1);
+        this.slots = new Entry[capacity];
+        this.mask = capacity - 1;
+    }
+
+    public String get(double value, DoubleFunction<String> formatter) {
+        long bits = Double.doubleToLongBits(value);
+        int index = slot(bits);
+        Entry entry = slots[index];
+        if (entry != null && entry.bits == bits) {
+            return entry.text;
+        }
+        String text = formatter.apply(value);
+        slots[index] = new Entry(bits, text);
+        return text;
+    }
+
+    public void clear() {
+        Arrays.fill(slots, null);
+    }
+
+    private int slot(long bits) {
+        long hash = bits * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 40) & mask;
+    }
+
+    private record Entry(long bits, String text) {
+    }
+}
@@ -3,36 +3,78 @@ package com.yourorg.coinflip.util;
 import com.yourorg.coinflip.CoinFlipPlugin;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.function.IntConsumer;
 
-public final class GeyserUtil {
+public final class GeyserUtil implements Listener {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.publicLookup();
+    private static final MethodType BUILDER_FACTORY = MethodType.methodType(Object.class);
+
+    // Resolved once per builder/response class instead of scanning getMethods() on every form.
+    private static final ClassValue<BuilderBridge> BUILDERS = new ClassValue<>() {
+        @Override
+        protected BuilderBridge computeValue(Class<?> type) {
+            return new BuilderBridge(type);
+        }
+    };
+    private static final ClassValue<ResponseBridge> RESPONSES = new ClassValue<>() {
+        @Override
+        protected ResponseBridge computeValue(Class<?> type) {
+            return new ResponseBridge(type);
+        }
+    };
 
     private final CoinFlipPlugin plugin;
     private boolean available;
     private Object floodgateApi;
-    private Method isFloodgatePlayer;
-    private Method sendForm;
+    private MethodHandle isFloodgatePlayer;
+    private MethodHandle sendForm;
     private boolean sendFormUsesPlayer;
-    private Method simpleFormBuilder;
-    private Method modalFormBuilder;
+    private MethodHandle simpleFormBuilder;
+    private MethodHandle modalFormBuilder;
+    // A player's platform cannot change mid-session, so Floodgate is asked once per login.
+    private final Map<UUID, Boolean> bedrockPlayers = new ConcurrentHashMap<>();
 
     public GeyserUtil(CoinFlipPlugin plugin) {
         this.plugin = plugin;
         init();
+        if (available) {
+            Bukkit.getPluginManager().registerEvents(this, plugin);
+        }
     }
 
     public boolean isBedrockPlayer(Player player) {
         if (!available || player == null) {
             return false;
         }
+        return bedrockPlayers.computeIfAbsent(player.getUniqueId(), this::queryFloodgate);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        bedrockPlayers.remove(event.getPlayer().getUniqueId());
+    }
+
+    private boolean queryFloodgate(UUID playerId) {
         try {
-            return (boolean) isFloodgatePlayer.invoke(floodgateApi, player.getUniqueId());
-        } catch (Exception ignored) {
+            return (boolean) isFloodgatePlayer.invokeExact(floodgateApi, (Object) playerId);
+        } catch (Throwable ignored) {
             return false;
         }
     }
@@ -71,12 +113,13 @@ public final class GeyserUtil {
             Method modalBuilder = Class.forName("org.geysermc.cumulus.form.ModalForm").getMethod("builder");
 
             if (api != null && isPlayer != null && send != null && simpleBuilder != null && modalBuilder != null) {
-                this.available = true;
                 this.floodgateApi = api;
-                this.isFloodgatePlayer = isPlayer;
-                this.sendForm = send;
-                this.simpleFormBuilder = simpleBuilder;
-                this.modalFormBuilder = modalBuilder;
+                this.isFloodgatePlayer = LOOKUP.unreflect(isPlayer)
+                        .asType(MethodType.methodType(boolean.class, Object.class, Object.class));
+                this.sendForm = LOOKUP.unreflect(send).asType(MethodType.methodType(void.class, Object.class, Object.class, Object.class));
+                this.simpleFormBuilder = LOOKUP.unreflect(simpleBuilder).asType(BUILDER_FACTORY);
+                this.modalFormBuilder = LOOKUP.unreflect(modalBuilder).asType(BUILDER_FACTORY);
+                this.available = true;
             }
         } catch (Exception ignored) {
             this.available = false;
@@ -108,19 +151,19 @@ public final class GeyserUtil {
                 if (player == null) {
                     return false;
                 }
-                sendForm.invoke(floodgateApi, player, form);
+                sendForm.invokeExact(floodgateApi, (Object) player, form);
             } else {
-                sendForm.invoke(floodgateApi, playerId, form);
+                sendForm.invokeExact(floodgateApi, (Object) playerId, form);
             }
             return true;
-        } catch (Exception ignored) {
+        } catch (Throwable ignored) {
             return false;
         }
     }
 
     private Object buildSimpleForm(String title, String content, List<String> buttons, IntConsumer onSelect) {
         try {
-            Object builder = simpleFormBuilder.invoke(null);
+            Object builder = (Object) simpleFormBuilder.invokeExact();
             applyString(builder, "title", title);
             applyString(builder, "content", content);
             if (buttons != null) {
@@ -143,15 +186,15 @@ public final class GeyserUtil {
                     }
                 });
             }
-            return invokeNoArgs(builder, "build");
-        } catch (Exception ignored) {
+            return build(builder);
+        } catch (Throwable ignored) {
             return null;
         }
     }
 
     private Object buildModalForm(String title, String content, String button1, String button2, IntConsumer onSelect) {
         try {
-            Object builder = modalFormBuilder.invoke(null);
+            Object builder = (Object) modalFormBuilder.invokeExact();
             applyString(builder, "title", title);
             applyString(builder, "content", content);
             applyString(builder, "button1", button1);
@@ -172,23 +215,125 @@ public final class GeyserUtil {
                     }
                 });
             }
-            return invokeNoArgs(builder, "build");
-        } catch (Exception ignored) {
+            return build(builder);
+        } catch (Throwable ignored) {
             return null;
         }
     }
 
-    private void applyString(Object builder, String methodName, String value) throws Exception {
+    private void applyString(Object builder, String methodName, String value) throws Throwable {
         if (value == null) {
             return;
         }
-        Method method = findStringMethod(builder.getClass(), methodName);
+        MethodHandle setter = BUILDERS.get(builder.getClass()).setter(methodName);
+        if (setter != null) {
+            Object ignored = (Object) setter.invokeExact(builder, (Object) value);
+        }
+    }
+
+    private void attachHandler(Object builder, Consumer<Object> handler) throws Throwable {
+        MethodHandle method = BUILDERS.get(builder.getClass()).handler;
         if (method != null) {
-            method.invoke(builder, value);
+            Object ignored = (Object) method.invokeExact(builder, (Object) handler);
+        }
+    }
+
+    private Object build(Object builder) throws Throwable {
+        MethodHandle build = BUILDERS.get(builder.getClass()).build;
+        if (build == null) {
+            return null;
+        }
+        return (Object) build.invokeExact(builder);
+    }
+
+    private int resolveButtonId(Object response) {
+        if (response == null) {
+            return -1;
+        }
+        MethodHandle method = RESPONSES.get(response.getClass()).clickedButtonId;
+        if (method == null) {
+            return -1;
+        }
+        try {
+            Object id = (Object) method.invokeExact(response);
+            if (id instanceof Number number) {
+                return number.intValue();
+            }
+            if (id instanceof Boolean bool) {
+                return bool ? 0 : 1;
+            }
+        } catch (Throwable ignored) {
+            return -1;
+        }
+        return -1;
+    }
+
+    private String resolveButtonText(Object response) {
+        if (response == null) {
+            return null;
+        }
+        MethodHandle method = RESPONSES.get(response.getClass()).clickedButtonText;
+        if (method == null) {
+            return null;
+        }
+        try {
+            Object text = (Object) method.invokeExact(response);
+            return text != null ? text.toString() : null;
+        } catch (Throwable ignored) {
+            return null;
         }
     }
 
-    private Method findStringMethod(Class<?> type, String methodName) {
+    // Handles are typed (Object...)Object so one call shape serves every builder implementation.
+    private static MethodHandle handle(Class<?> type, Method method) {
+        if (method == null) {
+            return null;
+        }
+        Method accessible = accessibleVariant(type, method);
+        if (accessible == null) {
+            return null;
+        }
+        try {
+            MethodHandle handle = LOOKUP.unreflect(accessible);
+            return handle.asType(handle.type().generic());
+        } catch (IllegalAccessException ex) {
+            return null;
+        }
+    }
+
+    // Implementation classes are often package-private; call through the public type that declares the method.
+    private static Method accessibleVariant(Class<?> type, Method method) {
+        if (Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
+            return method;
+        }
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            for (Class<?> candidate : current.getInterfaces()) {
+                Method found = publicMethod(candidate, method);
+                if (found != null) {
+                    return found;
+                }
+            }
+            Class<?> superclass = current.getSuperclass();
+            if (superclass != null && Modifier.isPublic(superclass.getModifiers())) {
+                Method found = publicMethod(superclass, method);
+                if (found != null) {
+                    return found;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static Method publicMethod(Class<?> type, Method method) {
+        try {
+            Method found = type.getMethod(method.getName(), method.getParameterTypes());
+            return Modifier.isPublic(found.getDeclaringClass().getModifiers()) ? found : accessibleVariant(type, found);
+        } catch (NoSuchMethodException ex) {
+            return null;
+        }
+    }
+
+    private static Method findStringMethod(Class<?> type, String methodName) {
         for (Method method : type.getMethods()) {
             if (!methodName.equals(method.getName()) || method.getParameterCount() != 1) {
                 continue;
@@ -201,22 +346,14 @@ public final class GeyserUtil {
         return null;
     }
 
-    private void attachHandler(Object builder, Consumer<Object> handler) throws Exception {
-        Method method = findHandlerMethod(builder.getClass(), handler);
-        if (method != null) {
-            method.invoke(builder, handler);
-        }
-    }
-
-    private Method findHandlerMethod(Class<?> type, Consumer<Object> handler) {
+    private static Method findHandlerMethod(Class<?> type) {
         String[] names = {"validResultHandler", "responseHandler", "resultHandler"};
         for (String name : names) {
             for (Method method : type.getMethods()) {
                 if (!name.equals(method.getName()) || method.getParameterCount() != 1) {
                     continue;
                 }
-                Class<?> param = method.getParameterTypes()[0];
-                if (param.isAssignableFrom(handler.getClass()) || param.isAssignableFrom(Consumer.class)) {
+                if (method.getParameterTypes()[0].isAssignableFrom(Consumer.class)) {
                     return method;
                 }
             }
@@ -224,40 +361,46 @@ public final class GeyserUtil {
         return null;
     }
 
-    private Object invokeNoArgs(Object target, String methodName) throws Exception {
-        Method method = target.getClass().getMethod(methodName);
-        return method.invoke(target);
+    private static Method findNoArgs(Class<?> type, String methodName) {
+        try {
+            return type.getMethod(methodName);
+        } catch (NoSuchMethodException ex) {
+            return null;
+        }
     }
 
-    private int resolveButtonId(Object response) {
-        if (response == null) {
-            return -1;
-        }
-        try {
-            Method method = response.getClass().getMethod("clickedButtonId");
-            Object id = method.invoke(response);
-            if (id instanceof Number number) {
-                return number.intValue();
-            }
-            if (id instanceof Boolean bool) {
-                return bool ? 0 : 1;
+    private static final class BuilderBridge {
+
+        private static final String[] STRING_SETTERS = {"title", "content", "button", "button1", "button2"};
+
+        private final Map<String, MethodHandle> setters = new HashMap<>();
+        private final MethodHandle handler;
+        private final MethodHandle build;
+
+        BuilderBridge(Class<?> type) {
+            for (String name : STRING_SETTERS) {
+                MethodHandle setter = handle(type, findStringMethod(type, name));
+                if (setter != null) {
+                    setters.put(name, setter);
+                }
             }
-        } catch (Exception ignored) {
-            return -1;
+            this.handler = handle(type, findHandlerMethod(type));
+            this.build = handle(type, findNoArgs(type, "build"));
         }
-        return -1;
-    }
 
-    private String resolveButtonText(Object response) {
-        if (response == null) {
-            return null;
+        MethodHandle setter(String name) {
+            return setters.get(name);
         }
-        try {
-            Method method = response.getClass().getMethod("clickedButtonText");
-            Object text = method.invoke(response);
-            return text != null ? text.toString() : null;
-        } catch (Exception ignored) {
-            return null;
+    }
+
+    private static final class ResponseBridge {
+
+        private final MethodHandle clickedButtonId;
+        private final MethodHandle clickedButtonText;
+
+        ResponseBridge(Class<?> type) {
+            this.clickedButtonId = handle(type, findNoArgs(type, "clickedButtonId"));
+            this.clickedButtonText = handle(type, findNoArgs(type, "clickedButtonText"));
         }
     }
 
@@ -16,8 +16,16 @@ public final class HelpUtil {
             new HelpEntry("/cf <player> accept|deny", "respond to private challenge", false),
             new HelpEntry("/cf cancel", "cancel your coinflip", false),
             new HelpEntry("/cf stats [player]", "view stats", false),
+            new HelpEntry("/cf top [wins|profit|wagered]", "view leaderboards", false),
+            new HelpEntry("/cf history [player]", "view recent games", false),
+            new HelpEntry("/cf toggle", "show or hide announcements", false),
             new HelpEntry("/cf reload", "reload configuration", true),
-            new HelpEntry("/cf cancel <player>", "force cancel coinflip", true)
+            new HelpEntry("/cf cancel <player>", "force cancel coinflip", true),
+            new HelpEntry("/cf outbox list", "credits waiting for retry", true),
+            new HelpEntry("/cf outbox settle <id|all>", "retry queued credits now", true),
+            new HelpEntry("/cf outbox dismiss <id>", "drop a credit paid by hand", true),
+            new HelpEntry("/cf debug ledger", "reconcile escrow ledger", true),
+            new HelpEntry("/cf debug economy", "economy latency and circuit breaker", true)
     );
 
     private HelpUtil() {
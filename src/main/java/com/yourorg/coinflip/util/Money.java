@@ -0,0 +1,38 @@
+package com.yourorg.coinflip.util;
+
+// Amounts are carried as long minor units (hundredths) and only become doubles at the Vault and display boundary.
+public final class Money {
+
+    public static final long SCALE = 100L;
+    public static final long FULL_PERCENT_BASIS_POINTS = 10_000L;
+
+    // Largest stake whose pot times a full basis-point share still fits in a long.
+    public static final long MAX_STAKE_MINOR = Long.MAX_VALUE / (2L * FULL_PERCENT_BASIS_POINTS);
+
+    private static final double MAX_MAJOR = Long.MAX_VALUE / (double) SCALE / 2D;
+
+    private Money() {
+    }
+
+    public static long toMinor(double major) {
+        if (Double.isNaN(major) || Double.isInfinite(major) || Math.abs(major) > MAX_MAJOR) {
+            throw new IllegalArgumentException("Amount out of range: " + major);
+        }
+        return Math.round(major * SCALE);
+    }
+
+    public static double toMajor(long minor) {
+        return minor / (double) SCALE;
+    }
+
+    public static long basisPoints(double percent) {
+        long points = Math.round(percent * 100D);
+        return Math.max(0L, Math.min(FULL_PERCENT_BASIS_POINTS, points));
+    }
+
+    // Rounded up, so the house never collects less than the configured share.
+    public static long shareCeil(long minor, long basisPoints) {
+        long product = Math.multiplyExact(minor, basisPoints);
+        return Math.floorDiv(product + FULL_PERCENT_BASIS_POINTS - 1L, FULL_PERCENT_BASIS_POINTS);
+    }
+}
@@ -0,0 +1,116 @@
+package com.yourorg.coinflip.util;
+
+public final class NumberFormatter {
+
+    private static final int CACHE_SIZE = 1024;
+    private static final long[] POWERS = {1L, 10L, 100L, 1_000L, 10_000L};
+    private static final char[] SUFFIXES = {'k', 'M', 'B', 'T'};
+    // Beyond this the scaled value no longer fits a long exactly; fall back to the slow path.
+    private static final double MAX_FAST = 1e14D;
+
+    private final boolean grouping;
+    private final int decimals;
+    private final boolean compact;
+    private final FormatCache cache = new FormatCache(CACHE_SIZE);
+    private final ThreadLocal<StringBuilder> buffers = ThreadLocal.withInitial(() -> new StringBuilder(32));
+
+    public NumberFormatter(boolean grouping, int decimals, boolean compact) {
+        this.grouping = grouping;
+        this.decimals = Math.max(0, Math.min(POWERS.length - 1, decimals));
+        this.compact = compact;
+    }
+
+    public String format(double value) {
+        return cache.get(value, this::render);
+    }
+
+    // Appends without allocating; callers that own a builder can skip the String entirely.
+    public void formatTo(double value, StringBuilder out) {
+        if (Double.isNaN(value) || Double.isInfinite(value) || Math.abs(value) >= MAX_FAST) {
+            out.append(value);
+            return;
+        }
+        if (value < 0D) {
+            out.append('-');
+            value = -value;
+        }
+        if (compact && value >= 1000D) {
+            appendCompact(value, out);
+            return;
+        }
+        appendFixed(value, decimals, grouping, out);
+    }
+
+    private String render(double value) {
+        StringBuilder buffer = buffers.get();
+        buffer.setLength(0);
+        formatTo(value, buffer);
+        return buffer.toString();
+    }
+
+    private static void appendCompact(double value, StringBuilder out) {
+        int tier = 0;
+        double scaled = value / 1000D;
+        while (tier < SUFFIXES.length - 1 && scaled >= 1000D) {
+            scaled /= 1000D;
+            tier++;
+        }
+        // One decimal, so 999.96k would print as 1000k; promote it instead.
+        long tenths = (long) Math.rint(scaled * 10D);
+        if (tenths >= 10_000L && tier < SUFFIXES.length - 1) {
+            tenths = (long) Math.rint(tenths / 1000D);
+            tier++;
+        }
+        appendScaled(tenths, 1, false, out);
+        out.append(SUFFIXES[tier]);
+    }
+
+    private static void appendFixed(double value, int decimals, boolean grouping, StringBuilder out) {
+        // Half-even, matching DecimalFormat's default rounding.
+        long scaled = (long) Math.rint(value * POWERS[decimals]);
+        appendScaled(scaled, decimals, grouping, out);
+    }
+
+    // Writes scaled / 10^decimals with trailing fraction zeros dropped, like the "#,##0.##" pattern.
+    private static void appendScaled(long scaled, int decimals, boolean grouping, StringBuilder out) {
+        long power = POWERS[decimals];
+        long whole = scaled / power;
+        long fraction = scaled % power;
+        appendWhole(whole, grouping, out);
+        if (fraction == 0L) {
+            return;
+        }
+        int digits = decimals;
+        while (fraction % 10L == 0L) {
+            fraction /= 10L;
+            digits--;
+        }
+        out.append('.');
+        for (long divisor = POWERS[digits - 1]; divisor > 0L; divisor /= 10L) {
+            out.append((char) ('0' + (fraction / divisor) % 10L));
+        }
+    }
+
+    private static void appendWhole(long whole, boolean grouping, StringBuilder out) {
+        if (whole < 1000L || !grouping) {
+            out.append(whole);
+            return;
+        }
+        long divisor = 1L;
+        while (divisor <= whole / 1000L) {
+            divisor *= 1000L;
+        }
+        out.append(whole / divisor);
+        for (divisor /= 1000L; divisor > 0L; divisor /= 1000L) {
+            int group = (int) (whole / divisor % 1000L);
+            out.append(',');
+            if (group < 100) {
+                out.append('0');
+            }
+            if (group < 10) {
+                out.append('0');
+            }
+            out.append(group);
+        }
+    }
+}
@@ -8,29 +8,30 @@ public final class PayoutCalculator {
     }
 
     public static Payout calculate(double stakePerPlayer, CoinFlipConfig.TaxSettings taxSettings) {
-        double totalPot = stakePerPlayer * 2.0D;
-        double winnings = totalPot;
-        double taxAmount = 0.0D;
+        return calculateMinor(Money.toMinor(stakePerPlayer), taxSettings);
+    }
+
+    public static Payout calculateMinor(long stakePerPlayer, CoinFlipConfig.TaxSettings taxSettings) {
+        long totalPot = Math.multiplyExact(stakePerPlayer, 2L);
+        long taxAmount = 0L;
         if (taxSettings.enabled()) {
-            double percent = clampPercent(taxSettings.percent());
-            double rate = percent / 100.0D;
-            winnings = Math.floor(totalPot * (1.0D - rate));
-            taxAmount = totalPot - winnings;
+            taxAmount = Money.shareCeil(totalPot, Money.basisPoints(taxSettings.percent()));
         }
-        return new Payout(totalPot, winnings, taxAmount);
+        return new Payout(totalPot, totalPot - taxAmount, taxAmount);
     }
 
-    private static double clampPercent(double percent) {
-        if (percent < 0.0D) {
-            return 0.0D;
+    public record Payout(long totalPotMinor, long winningsMinor, long taxAmountMinor) {
+
+        public double totalPot() {
+            return Money.toMajor(totalPotMinor);
         }
-        if (percent > 100.0D) {
-            return 100.0D;
+
+        public double winnings() {
+            return Money.toMajor(winningsMinor);
         }
-        return percent;
-    }
 
-    public record Payout(double totalPot, double winnings, double taxAmount) {
+        public double taxAmount() {
+            return Money.toMajor(taxAmountMinor);
+        }
     }
 }
-
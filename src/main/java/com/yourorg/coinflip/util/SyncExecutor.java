@@ -0,0 +1,38 @@
+package com.yourorg.coinflip.util;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+
+public final class SyncExecutor implements Executor {
+
+    private final Plugin plugin;
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+
+    public SyncExecutor(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        queue.add(task);
+        if (plugin.isEnabled()) {
+            Bukkit.getScheduler().runTask(plugin, this::drain);
+        }
+    }
+
+    // Tasks queued while the plugin is disabling are never run by the scheduler, so shutdown drains them by hand.
+    public void drain() {
+        Runnable task;
+        while ((task = queue.poll()) != null) {
+            try {
+                task.run();
+            } catch (RuntimeException ex) {
+                plugin.getLogger().severe("Main thread task failed: " + ex.getMessage());
+            }
+        }
+    }
+}
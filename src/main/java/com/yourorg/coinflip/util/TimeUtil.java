@@ -16,5 +16,19 @@ public final class TimeUtil {
         long seconds = duration.minusMinutes(minutes).toSeconds();
         return String.format("%02d:%02d", minutes, seconds);
     }
+
+    public static String formatAgo(long millisAgo) {
+        Duration duration = Duration.ofMillis(Math.max(0L, millisAgo));
+        if (duration.toDays() > 0) {
+            return duration.toDays() + "d ago";
+        }
+        if (duration.toHours() > 0) {
+            return duration.toHours() + "h ago";
+        }
+        if (duration.toMinutes() > 0) {
+            return duration.toMinutes() + "m ago";
+        }
+        return duration.toSeconds() + "s ago";
+    }
 }
 
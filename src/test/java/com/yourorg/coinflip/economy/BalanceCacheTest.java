@@ -0,0 +1,58 @@
+package com.yourorg.coinflip.economy;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BalanceCacheTest {
+
+    @Test
+    void snapshotExpiresAfterTtl() {
+        BalanceCache cache = new BalanceCache(1_000L);
+        UUID playerId = UUID.randomUUID();
+        cache.store(playerId, cache.generation(playerId), 250D, 10_000L);
+
+        assertEquals(250D, cache.fresh(playerId, 10_999L));
+        assertTrue(Double.isNaN(cache.fresh(playerId, 11_000L)));
+    }
+
+    @Test
+    void invalidationDropsSnapshot() {
+        BalanceCache cache = new BalanceCache(1_000L);
+        UUID playerId = UUID.randomUUID();
+        cache.store(playerId, cache.generation(playerId), 250D, 10_000L);
+        cache.invalidate(playerId);
+
+        assertTrue(Double.isNaN(cache.fresh(playerId, 10_001L)));
+    }
+
+    @Test
+    void readStartedBeforeInvalidationIsDiscarded() {
+        BalanceCache cache = new BalanceCache(1_000L);
+        UUID playerId = UUID.randomUUID();
+        long generation = cache.generation(playerId);
+        cache.invalidate(playerId);
+        cache.store(playerId, generation, 500D, 10_000L);
+
+        assertTrue(Double.isNaN(cache.fresh(playerId, 10_001L)));
+        cache.store(playerId, cache.generation(playerId), 400D, 10_000L);
+        assertEquals(400D, cache.fresh(playerId, 10_001L));
+    }
+
+    @Test
+    void invalidatingAPlayerWithoutASnapshotLeavesNoEntry() {
+        BalanceCache cache = new BalanceCache(1_000L);
+        UUID online = UUID.randomUUID();
+        long generation = cache.generation(online);
+        cache.invalidate(UUID.randomUUID());
+
+        assertEquals(0, cache.size());
+        // Any invalidation since the read began is enough to discard it.
+        cache.store(online, generation, 500D, 10_000L);
+        assertTrue(Double.isNaN(cache.fresh(online, 10_001L)));
+        assertEquals(0, cache.size());
+    }
+}
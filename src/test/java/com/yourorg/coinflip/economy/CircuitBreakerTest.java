@@ -0,0 +1,68 @@
+package com.yourorg.coinflip.economy;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CircuitBreakerTest {
+
+    @Test
+    void opensAfterConsecutiveFailures() {
+        CircuitBreaker breaker = new CircuitBreaker(3, 1_000L);
+        breaker.onFailure(0L);
+        breaker.onFailure(0L);
+        breaker.onSuccess(0L);
+        breaker.onFailure(0L);
+        breaker.onFailure(0L);
+        assertTrue(breaker.allows(0L));
+
+        breaker.onFailure(0L);
+        assertFalse(breaker.allows(10L));
+        assertEquals(1L, breaker.trips());
+    }
+
+    @Test
+    void halfOpenFailureReopens() {
+        CircuitBreaker breaker = new CircuitBreaker(1, 1_000L);
+        breaker.onFailure(0L);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state(1_000L));
+
+        breaker.onFailure(1_000L);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state(1_500L));
+        assertEquals(2L, breaker.trips());
+    }
+
+    @Test
+    void halfOpenSuccessCloses() {
+        CircuitBreaker breaker = new CircuitBreaker(1, 1_000L);
+        breaker.trip(0L);
+        breaker.onSuccess(1_000L);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state(1_010L));
+        assertEquals(0, breaker.consecutiveFailures());
+    }
+
+    @Test
+    void successWhileOpenKeepsItOpen() {
+        CircuitBreaker breaker = new CircuitBreaker(1, 1_000L);
+        breaker.onFailure(0L);
+        breaker.onSuccess(500L);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state(600L));
+        assertFalse(breaker.allows(600L));
+        assertEquals(400L, breaker.remainingOpenMillis(600L));
+    }
+
+    @Test
+    void configureKeepsAnOpenBreakerOpen() {
+        CircuitBreaker breaker = new CircuitBreaker(1, 1_000L);
+        breaker.onFailure(0L);
+        breaker.configure(5, 2_000L);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state(1_500L));
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state(2_000L));
+        assertEquals(1L, breaker.trips());
+    }
+}
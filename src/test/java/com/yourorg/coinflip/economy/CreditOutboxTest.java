@@ -0,0 +1,178 @@
+package com.yourorg.coinflip.economy;
+
+import com.yourorg.coinflip.config.CoinFlipConfig;
+import com.yourorg.coinflip.storage.SqliteDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CreditOutboxTest {
+
+    private static final CoinFlipConfig.OutboxSettings NO_BACKOFF = new CoinFlipConfig.OutboxSettings(0, 0);
+    private static final Logger LOGGER = Logger.getLogger("CreditOutboxTest");
+
+    @TempDir
+    Path directory;
+
+    private final List<UUID> deposits = new ArrayList<>();
+    private boolean accepting = true;
+    private SqliteDatabase database;
+
+    @BeforeEach
+    void openDatabase() {
+        database = new SqliteDatabase(directory.resolve("data.db"), LOGGER);
+        database.open();
+    }
+
+    @AfterEach
+    void closeDatabase() {
+        database.close();
+    }
+
+    @Test
+    void backoffDoublesUpToTheCap() {
+        CoinFlipConfig.OutboxSettings settings = new CoinFlipConfig.OutboxSettings(30, 300);
+
+        assertEquals(30_000L, CreditOutbox.backoffMillis(0, settings));
+        assertEquals(30_000L, CreditOutbox.backoffMillis(1, settings));
+        assertEquals(60_000L, CreditOutbox.backoffMillis(2, settings));
+        assertEquals(240_000L, CreditOutbox.backoffMillis(4, settings));
+        assertEquals(300_000L, CreditOutbox.backoffMillis(5, settings));
+        assertEquals(300_000L, CreditOutbox.backoffMillis(1_000, settings));
+    }
+
+    @Test
+    void enqueueKeepsOneEntryPerGameAndPlayer() {
+        CreditOutbox outbox = outbox(new EscrowLedger());
+        UUID game = UUID.randomUUID();
+        UUID player = UUID.randomUUID();
+
+        assertTrue(outbox.enqueue(game, player, 500L, "declined"));
+        assertTrue(outbox.enqueue(game, player, 500L, "declined again"));
+        assertTrue(outbox.enqueue(game, UUID.randomUUID(), 500L, "declined"));
+
+        List<CreditOutbox.Entry> open = outbox.list(10).join();
+        assertEquals(2, open.size());
+        assertEquals(player, open.get(0).playerId());
+        assertEquals("declined", open.get(0).lastError());
+        assertEquals(CreditOutbox.State.PENDING, open.get(0).state());
+    }
+
+    @Test
+    void attemptSettlesOnceTheDepositLands() {
+        EscrowLedger ledger = new EscrowLedger();
+        CreditOutbox outbox = outbox(ledger);
+        UUID game = UUID.randomUUID();
+        ledger.record(game, EscrowLedger.Flow.STAKE, 500L);
+        outbox.enqueue(game, UUID.randomUUID(), 500L, "declined");
+        CreditOutbox.Entry entry = outbox.list(10).join().get(0);
+
+        assertTrue(outbox.attempt(entry));
+
+        assertTrue(outbox.list(10).join().isEmpty());
+        assertEquals(1, deposits.size());
+        assertEquals(500L, ledger.snapshot().total(EscrowLedger.Flow.REFUND));
+        assertEquals(0L, ledger.snapshot().balance(EscrowLedger.Account.ESCROW));
+        // A settled entry is not claimed again.
+        assertFalse(outbox.attempt(entry));
+        assertEquals(1, deposits.size());
+    }
+
+    @Test
+    void attemptReturnsARefusedDepositToPending() {
+        EscrowLedger ledger = new EscrowLedger();
+        CreditOutbox outbox = outbox(ledger);
+        outbox.enqueue(UUID.randomUUID(), UUID.randomUUID(), 500L, "declined");
+        accepting = false;
+
+        assertFalse(outbox.attempt(outbox.list(10).join().get(0)));
+
+        CreditOutbox.Entry entry = outbox.list(10).join().get(0);
+        assertEquals(CreditOutbox.State.PENDING, entry.state());
+        assertEquals(1, entry.attempts());
+        assertNotNull(entry.lastError());
+        assertEquals(0L, ledger.snapshot().total(EscrowLedger.Flow.REFUND));
+    }
+
+    @Test
+    void drainDueLeavesClaimsFromAPreviousRunAlone() {
+        CreditOutbox outbox = outbox(new EscrowLedger());
+        outbox.enqueue(UUID.randomUUID(), UUID.randomUUID(), 500L, "declined");
+        outbox.enqueue(UUID.randomUUID(), UUID.randomUUID(), 700L, "declined");
+        long claimedId = outbox.list(10).join().get(0).id();
+        database.write(session -> {
+            session.execute("UPDATE credit_outbox SET state = 'CLAIMED' WHERE id = " + claimedId);
+            return null;
+        }).join();
+
+        outbox.drainDue();
+
+        List<CreditOutbox.Entry> open = outbox.list(10).join();
+        assertEquals(1, open.size());
+        assertEquals(claimedId, open.get(0).id());
+        assertEquals(CreditOutbox.State.CLAIMED, open.get(0).state());
+        assertEquals(1, deposits.size());
+        // An admin settle still picks the claim up.
+        assertEquals(1, (int) outbox.settle(claimedId).join());
+        assertTrue(outbox.list(10).join().isEmpty());
+    }
+
+    @Test
+    void parkedCreditsWaitForAnAdmin() {
+        CreditOutbox outbox = outbox(new EscrowLedger());
+        UUID game = UUID.randomUUID();
+        UUID winner = UUID.randomUUID();
+
+        assertTrue(outbox.park(game, winner, 1_900L, "Server stopped while paying the winner"));
+        outbox.drainDue();
+
+        List<CreditOutbox.Entry> open = outbox.list(10).join();
+        assertEquals(1, open.size());
+        assertEquals(CreditOutbox.State.CLAIMED, open.get(0).state());
+        assertTrue(deposits.isEmpty());
+        assertTrue(outbox.dismiss(open.get(0).id()).join());
+    }
+
+    @Test
+    void loadRecoversOpenCreditsIntoEscrow() {
+        CreditOutbox previous = outbox(new EscrowLedger());
+        UUID game = UUID.randomUUID();
+        previous.enqueue(game, UUID.randomUUID(), 500L, "declined");
+        previous.enqueue(game, UUID.randomUUID(), 700L, "declined");
+        previous.enqueue(UUID.randomUUID(), UUID.randomUUID(), 900L, "declined");
+        previous.attempt(previous.list(10).join().get(2));
+
+        // Creating the outbox loads what the previous run left open.
+        EscrowLedger ledger = new EscrowLedger();
+        outbox(ledger);
+
+        EscrowLedger.Snapshot snapshot = ledger.snapshot();
+        assertEquals(1_200L, snapshot.total(EscrowLedger.Flow.RECOVERED));
+        assertEquals(1_200L, snapshot.balance(EscrowLedger.Account.ESCROW));
+        assertEquals(List.of(game), snapshot.openGames());
+        assertTrue(snapshot.balanced());
+    }
+
+    private CreditOutbox outbox(EscrowLedger ledger) {
+        CreditOutbox outbox = new CreditOutbox(null, database, ledger, LOGGER, () -> NO_BACKOFF, (playerId, amountMinor) -> {
+            if (accepting) {
+                deposits.add(playerId);
+            }
+            return accepting;
+        }, () -> true, Runnable::run);
+        outbox.load();
+        return outbox;
+    }
+}
@@ -0,0 +1,63 @@
+package com.yourorg.coinflip.economy;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EscrowLedgerTest {
+
+    @Test
+    void settledGameLeavesNothingInEscrow() {
+        EscrowLedger ledger = new EscrowLedger();
+        UUID gameId = UUID.randomUUID();
+        ledger.record(gameId, EscrowLedger.Flow.STAKE, 1_000L);
+        ledger.record(gameId, EscrowLedger.Flow.STAKE, 1_000L);
+        ledger.record(gameId, EscrowLedger.Flow.PAYOUT, 1_800L);
+        ledger.record(gameId, EscrowLedger.Flow.TAX, 200L);
+
+        EscrowLedger.Snapshot snapshot = ledger.snapshot();
+        assertEquals(0L, snapshot.balance(EscrowLedger.Account.ESCROW));
+        assertEquals(200L, snapshot.balance(EscrowLedger.Account.TAX_ACCRUED));
+        assertEquals(1L, snapshot.closedGames());
+        assertTrue(snapshot.openGames().isEmpty());
+        assertTrue(snapshot.balanced());
+    }
+
+    @Test
+    void batchedTaxSettlementDrainsAccruedTax() {
+        EscrowLedger ledger = new EscrowLedger();
+        for (int i = 0; i < 3; i++) {
+            UUID gameId = UUID.randomUUID();
+            ledger.record(gameId, EscrowLedger.Flow.STAKE, 500L);
+            ledger.record(gameId, EscrowLedger.Flow.STAKE, 500L);
+            ledger.record(gameId, EscrowLedger.Flow.PAYOUT, 900L);
+            ledger.record(gameId, EscrowLedger.Flow.TAX, 100L);
+        }
+        ledger.settleTax(EscrowLedger.Flow.TAX_PAID, ledger.accruedTax());
+
+        EscrowLedger.Snapshot snapshot = ledger.snapshot();
+        assertEquals(0L, ledger.accruedTax());
+        assertEquals(3_000L, snapshot.walletDebits());
+        assertEquals(3_000L, snapshot.walletCredits());
+        assertThrows(IllegalArgumentException.class, () -> ledger.settleTax(EscrowLedger.Flow.TAX_PAID, 1L));
+    }
+
+    @Test
+    void failedRefundStaysInEscrow() {
+        EscrowLedger ledger = new EscrowLedger();
+        UUID gameId = UUID.randomUUID();
+        ledger.record(gameId, EscrowLedger.Flow.STAKE, 700L);
+        ledger.record(gameId, EscrowLedger.Flow.STAKE, 700L);
+        ledger.record(gameId, EscrowLedger.Flow.REFUND, 700L);
+
+        EscrowLedger.Snapshot snapshot = ledger.snapshot();
+        assertEquals(700L, snapshot.balance(EscrowLedger.Account.ESCROW));
+        assertEquals(700L, snapshot.heldByGames());
+        assertEquals(1, snapshot.openGames().size());
+        assertTrue(snapshot.balanced());
+    }
+}
@@ -0,0 +1,25 @@
+package com.yourorg.coinflip.economy;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LatencyHistogramTest {
+
+    @Test
+    void percentilesReportBucketUpperBounds() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 99; i++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(100L));
+        }
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(50L));
+
+        assertEquals(100L, histogram.count());
+        assertEquals(128L, histogram.percentileMicros(50D));
+        assertEquals(128L, histogram.percentileMicros(99D));
+        assertEquals(65_536L, histogram.percentileMicros(100D));
+        assertEquals(50_000L, histogram.maxMicros());
+    }
+}
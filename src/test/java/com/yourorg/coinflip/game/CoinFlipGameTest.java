@@ -0,0 +1,103 @@
+package com.yourorg.coinflip.game;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CoinFlipGameTest {
+
+    private static final int CONTENDERS = 32;
+    private static final int ROUNDS = 500;
+
+    @Test
+    void onlyExpectedStateTransitions() {
+        CoinFlipGame game = newGame();
+        assertFalse(game.transition(GameState.RESOLVING, GameState.COMPLETED));
+        assertTrue(game.transition(GameState.PENDING, GameState.RESOLVING));
+        assertFalse(game.transition(GameState.PENDING, GameState.CANCELED));
+        assertTrue(game.transition(GameState.RESOLVING, GameState.COMPLETED));
+        assertEquals(GameState.COMPLETED, game.state());
+    }
+
+    @Test
+    void expiredOnlyWhilePending() {
+        CoinFlipGame game = newGame();
+        assertTrue(game.isExpired(game.expiresAt()));
+        game.transition(GameState.PENDING, GameState.RESOLVING);
+        assertFalse(game.isExpired(game.expiresAt()));
+    }
+
+    @Test
+    void parallelAcceptsSettleExactlyOnce() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(CONTENDERS + 1);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                CoinFlipGame game = newGame();
+                game.escrow().stakeWithdrawn();
+                AtomicInteger accepted = new AtomicInteger();
+                AtomicInteger settled = new AtomicInteger();
+                AtomicInteger refunded = new AtomicInteger();
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> futures = new ArrayList<>();
+
+                for (int i = 0; i < CONTENDERS; i++) {
+                    futures.add(pool.submit(() -> {
+                        await(start);
+                        if (!game.transition(GameState.PENDING, GameState.RESOLVING)) {
+                            return;
+                        }
+                        accepted.incrementAndGet();
+                        game.escrow().stakeWithdrawn();
+                        if (game.escrow().transition(EscrowState.WITHDRAWN, EscrowState.SETTLED)) {
+                            settled.incrementAndGet();
+                        }
+                        game.transition(GameState.RESOLVING, GameState.COMPLETED);
+                    }));
+                }
+                futures.add(pool.submit(() -> {
+                    await(start);
+                    if (game.transition(GameState.PENDING, GameState.CANCELED)
+                            && game.escrow().transition(EscrowState.WITHDRAWN, EscrowState.REFUNDED)) {
+                        refunded.incrementAndGet();
+                    }
+                }));
+
+                start.countDown();
+                for (Future<?> future : futures) {
+                    future.get(10, TimeUnit.SECONDS);
+                }
+
+                assertEquals(1, accepted.get() + refunded.get());
+                assertEquals(1, settled.get() + refunded.get());
+                assertEquals(accepted.get() == 1 ? 2 : 1, game.escrow().stakes());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static CoinFlipGame newGame() {
+        long now = System.currentTimeMillis();
+        return new CoinFlipGame(UUID.randomUUID(), UUID.randomUUID(), GameType.PUBLIC, null, 10_000L, now, now + 60_000L);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.yourorg.coinflip.game;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EscrowJournalTest {
+
+    private static final Logger LOGGER = Logger.getLogger("EscrowJournalTest");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replayKeepsOnlyStakesStillOpen() throws IOException {
+        UUID settled = UUID.randomUUID();
+        UUID refunded = UUID.randomUUID();
+        UUID accepted = UUID.randomUUID();
+        UUID waiting = UUID.randomUUID();
+        UUID creator = UUID.randomUUID();
+        UUID acceptor = UUID.randomUUID();
+        write("CREATE\t" + settled + "\t" + creator + "\t1000",
+                "ACCEPT\t" + settled + "\t" + acceptor,
+                "CREATE\t" + refunded + "\t" + creator + "\t1000",
+                "CREATE\t" + accepted + "\t" + creator + "\t2500",
+                "ACCEPT\t" + accepted + "\t" + acceptor,
+                "SETTLE\t" + settled,
+                "CREATE\t" + waiting + "\t" + creator + "\t700",
+                "REFUND\t" + refunded);
+
+        List<EscrowJournal.OpenStake> open = reopen();
+
+        assertEquals(List.of(
+                new EscrowJournal.OpenStake(accepted, creator, 2500L, acceptor, false),
+                new EscrowJournal.OpenStake(waiting, creator, 700L, null, false)), open);
+    }
+
+    @Test
+    void replayLeavesOutSharesAlreadyRepaid() throws IOException {
+        UUID game = UUID.randomUUID();
+        UUID creator = UUID.randomUUID();
+        UUID acceptor = UUID.randomUUID();
+        write("CREATE\t" + game + "\t" + creator + "\t1000",
+                "ACCEPT\t" + game + "\t" + acceptor,
+                "REPAID\t" + game + "\t" + creator);
+
+        EscrowJournal.OpenStake stake = reopen().get(0);
+
+        assertTrue(stake.creatorRepaid());
+        assertEquals(acceptor, stake.acceptor());
+        assertEquals(1000L, stake.owedMinor());
+    }
+
+    @Test
+    void intentRecordsAreOnDiskBeforeTheyReturn() throws IOException {
+        EscrowJournal journal = new EscrowJournal(journalPath(), LOGGER);
+        journal.open();
+        CoinFlipGame game = newGame();
+        UUID acceptor = UUID.randomUUID();
+
+        assertTrue(journal.created(game));
+        assertTrue(journal.accepted(game, acceptor));
+        assertTrue(journal.settling(game.id(), acceptor, 19_000L));
+
+        assertEquals(List.of(
+                "CREATE\t" + game.id() + "\t" + game.creator() + "\t10000",
+                "ACCEPT\t" + game.id() + "\t" + acceptor,
+                "SETTLING\t" + game.id() + "\t" + acceptor + "\t19000"), Files.readAllLines(journalPath()));
+        journal.close();
+    }
+
+    @Test
+    void replayKeepsAnInterruptedPayout() throws IOException {
+        UUID game = UUID.randomUUID();
+        UUID creator = UUID.randomUUID();
+        UUID acceptor = UUID.randomUUID();
+        write("CREATE\t" + game + "\t" + creator + "\t1000",
+                "ACCEPT\t" + game + "\t" + acceptor,
+                "SETTLING\t" + game + "\t" + acceptor + "\t1900");
+
+        EscrowJournal.OpenStake stake = reopen().get(0);
+
+        assertEquals(acceptor, stake.winner());
+        assertEquals(1900L, stake.payoutMinor());
+        // Compaction kept the record, so a second restart still sees it.
+        assertEquals(acceptor, reopen().get(0).winner());
+    }
+
+    @Test
+    void refusedPayoutFallsBackToRefunds() throws IOException {
+        UUID game = UUID.randomUUID();
+        UUID creator = UUID.randomUUID();
+        UUID acceptor = UUID.randomUUID();
+        write("CREATE\t" + game + "\t" + creator + "\t1000",
+                "ACCEPT\t" + game + "\t" + acceptor,
+                "SETTLING\t" + game + "\t" + acceptor + "\t1900",
+                "REPAID\t" + game + "\t" + creator,
+                "REPAID\t" + game + "\t" + acceptor,
+                "OWED\t" + game + "\t" + acceptor);
+
+        EscrowJournal.OpenStake stake = reopen().get(0);
+
+        assertNull(stake.winner());
+        assertTrue(stake.creatorRepaid());
+        assertEquals(acceptor, stake.acceptor());
+        assertEquals(1000L, stake.owedMinor());
+    }
+
+    @Test
+    void closeCompactsToTheOpenStakes() throws IOException {
+        EscrowJournal journal = new EscrowJournal(journalPath(), LOGGER);
+        journal.open();
+        CoinFlipGame kept = newGame();
+        CoinFlipGame paid = newGame();
+        CoinFlipGame partlyRefunded = newGame();
+        UUID acceptor = UUID.randomUUID();
+        journal.created(kept);
+        journal.created(paid);
+        journal.created(partlyRefunded);
+        journal.accepted(kept, acceptor);
+        journal.accepted(paid, acceptor);
+        journal.accepted(partlyRefunded, acceptor);
+        journal.settled(paid.id());
+        journal.repaid(partlyRefunded.id(), acceptor);
+        journal.close();
+
+        List<String> lines = Files.readAllLines(journalPath(), StandardCharsets.UTF_8);
+        // Open stakes live in a hash map, so compaction writes them in no particular order.
+        assertEquals(3, lines.size());
+        assertEquals(Set.of(
+                "CREATE\t" + kept.id() + "\t" + kept.creator() + "\t10000",
+                "ACCEPT\t" + kept.id() + "\t" + acceptor,
+                "CREATE\t" + partlyRefunded.id() + "\t" + partlyRefunded.creator() + "\t10000"), Set.copyOf(lines));
+
+        List<EscrowJournal.OpenStake> open = reopen();
+        assertEquals(2, open.size());
+        assertEquals(30_000L, open.stream().mapToLong(EscrowJournal.OpenStake::owedMinor).sum());
+    }
+
+    @Test
+    void tornLastLineIsSkipped() throws IOException {
+        UUID game = UUID.randomUUID();
+        UUID creator = UUID.randomUUID();
+        write("CREATE\t" + game + "\t" + creator + "\t1000",
+                "ACCEPT\t" + game + "\t" + UUID.randomUUID().toString().substring(0, 12));
+
+        List<EscrowJournal.OpenStake> open = reopen();
+
+        assertEquals(1, open.size());
+        assertNull(open.get(0).acceptor());
+        // Reopening compacted the torn record away.
+        assertFalse(Files.readString(journalPath()).contains("ACCEPT"));
+    }
+
+    @Test
+    void legacyDecimalAmountsBecomeMinorUnits() throws IOException {
+        UUID decimal = UUID.randomUUID();
+        UUID exponent = UUID.randomUUID();
+        UUID creator = UUID.randomUUID();
+        write("CREATE\t" + decimal + "\t" + creator + "\t12.5",
+                "CREATE\t" + exponent + "\t" + creator + "\t1.0E3");
+
+        List<EscrowJournal.OpenStake> open = reopen();
+
+        assertEquals(1_250L, open.get(0).amountMinor());
+        assertEquals(100_000L, open.get(1).amountMinor());
+        assertTrue(Files.readString(journalPath()).contains(creator + "\t1250\n"));
+    }
+
+    private List<EscrowJournal.OpenStake> reopen() {
+        EscrowJournal journal = new EscrowJournal(journalPath(), LOGGER);
+        List<EscrowJournal.OpenStake> open = journal.open();
+        journal.close();
+        return open;
+    }
+
+    private void write(String... lines) throws IOException {
+        Files.writeString(journalPath(), String.join("\n", lines) + "\n", StandardCharsets.UTF_8);
+    }
+
+    private Path journalPath() {
+        return directory.resolve("escrow.journal");
+    }
+
+    private static CoinFlipGame newGame() {
+        long now = System.currentTimeMillis();
+        return new CoinFlipGame(UUID.randomUUID(), UUID.randomUUID(), GameType.PUBLIC, null, 10_000L, now, now + 60_000L);
+    }
+}
@@ -0,0 +1,82 @@
+package com.yourorg.coinflip.game;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ExpiryWheelTest {
+
+    @Test
+    void firesOnceTheDeadlinePasses() {
+        ExpiryWheel wheel = new ExpiryWheel(100L, 8);
+        UUID game = UUID.randomUUID();
+        wheel.schedule(game, 250L);
+
+        assertEquals(List.of(), wheel.advance(299L));
+        assertEquals(List.of(game), wheel.advance(300L));
+        assertEquals(List.of(), wheel.advance(400L));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void deadlinesPastOneRotationWaitForTheirTurn() {
+        ExpiryWheel wheel = new ExpiryWheel(100L, 8);
+        UUID game = UUID.randomUUID();
+        wheel.schedule(game, 1_250L);
+
+        assertEquals(List.of(), wheel.advance(500L));
+        assertEquals(List.of(), wheel.advance(1_200L));
+        assertEquals(List.of(game), wheel.advance(1_300L));
+    }
+
+    @Test
+    void cancelAndRescheduleReplaceTheDeadline() {
+        ExpiryWheel wheel = new ExpiryWheel(100L, 8);
+        UUID canceled = UUID.randomUUID();
+        UUID moved = UUID.randomUUID();
+        wheel.schedule(canceled, 200L);
+        wheel.schedule(moved, 200L);
+        wheel.cancel(canceled);
+        wheel.schedule(moved, 600L);
+
+        assertEquals(1, wheel.size());
+        assertEquals(List.of(), wheel.advance(500L));
+        assertEquals(List.of(moved), wheel.advance(600L));
+    }
+
+    @Test
+    void lateDeadlinesFireOnTheNextTick() {
+        ExpiryWheel wheel = new ExpiryWheel(100L, 8);
+        wheel.advance(1_000L);
+        UUID game = UUID.randomUUID();
+        wheel.schedule(game, 100L);
+
+        assertEquals(List.of(), wheel.advance(1_099L));
+        assertEquals(List.of(game), wheel.advance(1_100L));
+    }
+
+    @Test
+    void tracksDueCounts() {
+        ExpiryWheel wheel = new ExpiryWheel(100L, 8);
+        for (int i = 0; i < 3; i++) {
+            wheel.schedule(UUID.randomUUID(), 100L);
+        }
+        wheel.schedule(UUID.randomUUID(), 200L);
+
+        wheel.advance(100L);
+        assertEquals(3, wheel.lastDue());
+        wheel.advance(200L);
+        assertEquals(1, wheel.lastDue());
+        assertEquals(3, wheel.peakDue());
+    }
+
+    @Test
+    void rejectsWheelSizesThatAreNotPowersOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new ExpiryWheel(100L, 6));
+        assertThrows(IllegalArgumentException.class, () -> new ExpiryWheel(0L, 8));
+    }
+}
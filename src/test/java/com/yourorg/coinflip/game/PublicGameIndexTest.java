@@ -0,0 +1,74 @@
+package com.yourorg.coinflip.game;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PublicGameIndexTest {
+
+    @Test
+    void ordersByCreationTimeThenId() {
+        PublicGameIndex index = new PublicGameIndex();
+        CoinFlipGame late = game(300L);
+        CoinFlipGame early = game(100L);
+        CoinFlipGame tieA = game(200L);
+        CoinFlipGame tieB = game(200L);
+        index.add(late);
+        index.add(tieB);
+        index.add(early);
+        index.add(tieA);
+
+        List<CoinFlipGame> games = index.snapshot();
+
+        assertEquals(4, games.size());
+        assertSame(early, games.get(0));
+        assertSame(late, games.get(3));
+        assertTrue(games.get(1).id().compareTo(games.get(2).id()) < 0);
+    }
+
+    @Test
+    void pageWalksFromTheOffset() {
+        PublicGameIndex index = new PublicGameIndex();
+        for (int i = 0; i < 10; i++) {
+            index.add(game(i));
+        }
+        List<CoinFlipGame> all = index.snapshot();
+
+        assertEquals(all.subList(0, 4), index.page(0, 4));
+        assertEquals(all.subList(8, 10), index.page(8, 4));
+        assertEquals(List.of(), index.page(10, 4));
+        assertEquals(List.of(), index.page(-1, 4));
+        assertEquals(List.of(), index.page(0, 0));
+    }
+
+    @Test
+    void snapshotIsReusedUntilTheIndexChanges() {
+        PublicGameIndex index = new PublicGameIndex();
+        CoinFlipGame game = game(100L);
+        index.add(game);
+        List<CoinFlipGame> first = index.snapshot();
+
+        assertSame(first, index.snapshot());
+
+        long version = index.version();
+        index.remove(game(200L));
+        assertEquals(version, index.version());
+        assertSame(first, index.snapshot());
+
+        index.remove(game);
+        assertNotEquals(version, index.version());
+        assertEquals(List.of(), index.snapshot());
+        assertEquals(0, index.size());
+    }
+
+    private static CoinFlipGame game(long createdAt) {
+        return new CoinFlipGame(UUID.randomUUID(), UUID.randomUUID(), GameType.PUBLIC, null, 10_000L, createdAt,
+                createdAt + 60_000L);
+    }
+}
@@ -0,0 +1,48 @@
+package com.yourorg.coinflip.profile;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PlayerNameIndexTest {
+
+    @Test
+    void completesPrefixIgnoringCase() {
+        PlayerNameIndex index = new PlayerNameIndex();
+        index.add(UUID.randomUUID(), "Steve");
+        index.add(UUID.randomUUID(), "stella");
+        index.add(UUID.randomUUID(), "Alex");
+
+        assertEquals(List.of("stella", "Steve"), index.complete("ST", null, Set.of(), 10));
+        assertEquals(3, index.complete("", null, Set.of(), 10).size());
+    }
+
+    @Test
+    void ranksPreferredFirstAndSkipsExcluded() {
+        PlayerNameIndex index = new PlayerNameIndex();
+        UUID self = UUID.randomUUID();
+        UUID partner = UUID.randomUUID();
+        index.add(self, "Aaron");
+        index.add(UUID.randomUUID(), "Abby");
+        index.add(partner, "Axel");
+
+        assertEquals(List.of("Axel", "Abby"), index.complete("a", self, Set.of(partner), 10));
+        assertEquals(List.of("Axel"), index.complete("a", self, Set.of(partner), 1));
+    }
+
+    @Test
+    void removeAndRenameKeepIndexConsistent() {
+        PlayerNameIndex index = new PlayerNameIndex();
+        UUID playerId = UUID.randomUUID();
+        index.add(playerId, "OldName");
+        index.add(playerId, "NewName");
+
+        assertEquals(List.of(), index.complete("old", null, Set.of(), 10));
+        index.remove(playerId);
+        assertEquals(0, index.size());
+    }
+}
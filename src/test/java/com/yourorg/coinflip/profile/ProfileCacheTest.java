@@ -0,0 +1,41 @@
+package com.yourorg.coinflip.profile;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ProfileCacheTest {
+
+    @Test
+    void findsByNameIgnoringCase() {
+        ProfileCache cache = new ProfileCache(4);
+        UUID playerId = UUID.randomUUID();
+        cache.put(new CachedProfile(playerId, "Notch", "tex", "sig"));
+
+        assertEquals(playerId, cache.byName("nOTCH").playerId());
+    }
+
+    @Test
+    void evictionDropsNameMapping() {
+        ProfileCache cache = new ProfileCache(1);
+        cache.put(new CachedProfile(UUID.randomUUID(), "First", null, null));
+        cache.put(new CachedProfile(UUID.randomUUID(), "Second", null, null));
+
+        assertNull(cache.byName("first"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void renamedPlayerReleasesOldName() {
+        ProfileCache cache = new ProfileCache(4);
+        UUID playerId = UUID.randomUUID();
+        cache.put(new CachedProfile(playerId, "OldName", null, null));
+        cache.put(new CachedProfile(playerId, "NewName", null, null));
+
+        assertNull(cache.byName("oldname"));
+        assertEquals("NewName", cache.get(playerId).name());
+    }
+}
@@ -0,0 +1,78 @@
+package com.yourorg.coinflip.stats;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LeaderboardTest {
+
+    @Test
+    void ranksHighestFirst() {
+        Leaderboard board = new Leaderboard(3, 5);
+        UUID low = UUID.randomUUID();
+        UUID high = UUID.randomUUID();
+        UUID middle = UUID.randomUUID();
+
+        board.update(low, 1D);
+        board.update(high, 30D);
+        board.update(middle, 10D);
+
+        List<LeaderboardEntry> page = board.page(0, 10);
+        assertEquals(3, page.size());
+        assertEquals(high, page.get(0).playerId());
+        assertEquals(1, page.get(0).rank());
+        assertEquals(middle, page.get(1).playerId());
+        assertEquals(low, page.get(2).playerId());
+    }
+
+    @Test
+    void evictsBeyondCapacityAndRaisesFloor() {
+        Leaderboard board = new Leaderboard(2, 3);
+        for (int i = 1; i <= 4; i++) {
+            board.update(UUID.randomUUID(), i);
+        }
+        UUID belowFloor = UUID.randomUUID();
+        board.update(belowFloor, 0.5D);
+
+        assertEquals(2, board.size());
+        assertEquals(4D, board.page(0, 1).get(0).value());
+        assertFalse(board.page(0, 10).stream().anyMatch(entry -> entry.playerId().equals(belowFloor)));
+        assertFalse(board.underflowed());
+    }
+
+    @Test
+    void droppingUnderFloorLeavesBoardAndFlagsUnderflow() {
+        Leaderboard board = new Leaderboard(2, 2);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        Map<UUID, Double> rows = new LinkedHashMap<>();
+        rows.put(first, 50D);
+        rows.put(second, 40D);
+        board.reset(rows, 30D);
+
+        board.update(second, 10D);
+
+        assertEquals(1, board.size());
+        assertTrue(board.underflowed());
+    }
+
+    @Test
+    void pagesWithinVisibleSize() {
+        Leaderboard board = new Leaderboard(3, 6);
+        for (int i = 0; i < 6; i++) {
+            board.update(UUID.randomUUID(), i);
+        }
+
+        assertEquals(3, board.size());
+        assertEquals(1, board.page(2, 10).size());
+        assertEquals(3, board.page(2, 10).get(0).rank());
+        assertTrue(board.page(3, 10).isEmpty());
+    }
+}
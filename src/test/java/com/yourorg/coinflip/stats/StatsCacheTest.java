@@ -0,0 +1,71 @@
+package com.yourorg.coinflip.stats;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StatsCacheTest {
+
+    @Test
+    void evictsLeastRecentlyUsed() {
+        StatsCache cache = new StatsCache(2);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+
+        cache.putIfAbsent(PlayerStats.empty(first));
+        cache.putIfAbsent(PlayerStats.empty(second));
+        cache.get(first);
+        cache.putIfAbsent(PlayerStats.empty(third));
+
+        assertTrue(cache.contains(first));
+        assertFalse(cache.contains(second));
+        assertTrue(cache.contains(third));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void countsHitsAndMisses() {
+        StatsCache cache = new StatsCache(4);
+        UUID playerId = UUID.randomUUID();
+
+        assertNull(cache.get(playerId));
+        cache.putIfAbsent(PlayerStats.empty(playerId));
+        cache.get(playerId);
+        cache.get(playerId);
+
+        assertEquals(2, cache.hits());
+        assertEquals(1, cache.misses());
+    }
+
+    @Test
+    void updatesOnlyCachedEntries() {
+        StatsCache cache = new StatsCache(4);
+        UUID cached = UUID.randomUUID();
+        UUID absent = UUID.randomUUID();
+        cache.putIfAbsent(PlayerStats.empty(cached));
+
+        cache.updateIfPresent(cached, stats -> new PlayerStats(stats.playerId(), 1, 0, 5_000L, 0L, 5_000L, 10L));
+        cache.updateIfPresent(absent, stats -> new PlayerStats(stats.playerId(), 1, 0, 5_000L, 0L, 5_000L, 10L));
+
+        assertEquals(1, cache.get(cached).wins());
+        assertFalse(cache.contains(absent));
+    }
+
+    @Test
+    void keepsExistingEntryOnConcurrentLoad() {
+        StatsCache cache = new StatsCache(4);
+        UUID playerId = UUID.randomUUID();
+        PlayerStats fresh = new PlayerStats(playerId, 3, 1, 30_000L, 10_000L, 40_000L, 20L);
+        cache.putIfAbsent(fresh);
+
+        PlayerStats result = cache.putIfAbsent(PlayerStats.empty(playerId));
+
+        assertEquals(fresh, result);
+    }
+}
@@ -3,6 +3,8 @@ package com.yourorg.coinflip.util;
 import com.yourorg.coinflip.config.CoinFlipConfig;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigDecimal;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -13,8 +15,8 @@ class BetUtilTest {
 
     @Test
     void parsesValidWholeNumberWithinLimits() {
-        double result = BetUtil.parseAmount("500", ECONOMY_SETTINGS, false);
-        assertEquals(500D, result);
+        long result = BetUtil.parseAmount("500", ECONOMY_SETTINGS, false);
+        assertEquals(50_000L, result);
     }
 
     @Test
@@ -25,8 +27,8 @@ class BetUtilTest {
 
     @Test
     void allowsBypassToIgnoreLimits() {
-        double result = BetUtil.parseAmount("1000000", ECONOMY_SETTINGS, true);
-        assertEquals(1_000_000D, result);
+        long result = BetUtil.parseAmount("1000000", ECONOMY_SETTINGS, true);
+        assertEquals(100_000_000L, result);
     }
 
     @Test
@@ -35,6 +37,32 @@ class BetUtilTest {
                 () -> BetUtil.parseAmount("-10", ECONOMY_SETTINGS, false));
     }
 
+    @Test
+    void rejectsStakesThatRoundToNothing() {
+        CoinFlipConfig.EconomySettings settings = new CoinFlipConfig.EconomySettings(0.001D, 100000.0D, 100.0D, false);
+        assertThrows(IllegalArgumentException.class, () -> BetUtil.parseAmount("0.004", settings, false));
+        assertThrows(IllegalArgumentException.class, () -> BetUtil.parseAmount("0.004", settings, true));
+        assertEquals(1L, BetUtil.parseAmount("0.005", settings, true));
+    }
+
+    @Test
+    void boundsBypassedStakesSoPayoutMathCannotOverflow() {
+        CoinFlipConfig.EconomySettings settings = new CoinFlipConfig.EconomySettings(100.0D, 100000.0D, 100.0D, false);
+        String largest = BigDecimal.valueOf(Money.MAX_STAKE_MINOR, 2).toPlainString();
+        assertEquals(Money.MAX_STAKE_MINOR, BetUtil.parseAmount(largest, settings, true));
+        assertThrows(IllegalArgumentException.class, () -> BetUtil.parseAmount("1e300", ECONOMY_SETTINGS, true));
+        assertThrows(IllegalArgumentException.class, () -> BetUtil.parseAmount("NaN", ECONOMY_SETTINGS, true));
+        Money.shareCeil(Money.MAX_STAKE_MINOR * 2L, Money.FULL_PERCENT_BASIS_POINTS);
+    }
+
+    @Test
+    void checksLimitsInMinorUnits() {
+        CoinFlipConfig.EconomySettings settings = new CoinFlipConfig.EconomySettings(0.5D, 10.0D, 100.0D, false);
+        assertEquals(50L, BetUtil.parseAmount("0.5", settings, false));
+        assertThrows(IllegalArgumentException.class, () -> BetUtil.parseAmount("0.494", settings, false));
+        assertThrows(IllegalArgumentException.class, () -> BetUtil.parseAmount("10.01", settings, false));
+    }
+
     @Test
     void computesMaxBalanceBetFromPercent() {
         CoinFlipConfig.EconomySettings settings = new CoinFlipConfig.EconomySettings(100.0D, 100000.0D, 50.0D, true);
@@ -0,0 +1,31 @@
+package com.yourorg.coinflip.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MoneyTest {
+
+    @Test
+    void roundTripsTwoDecimalAmounts() {
+        assertEquals(10L, Money.toMinor(0.1D));
+        assertEquals(30L, Money.toMinor(0.1D + 0.2D));
+        assertEquals(123_456L, Money.toMinor(1234.56D));
+        assertEquals(1234.56D, Money.toMajor(123_456L));
+    }
+
+    @Test
+    void rejectsNonFiniteAmounts() {
+        assertThrows(IllegalArgumentException.class, () -> Money.toMinor(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> Money.toMinor(Double.POSITIVE_INFINITY));
+    }
+
+    @Test
+    void shareIsClampedAndRoundedUp() {
+        assertEquals(0L, Money.basisPoints(-5D));
+        assertEquals(10_000L, Money.basisPoints(150D));
+        assertEquals(1L, Money.shareCeil(1L, 1L));
+        assertEquals(0L, Money.shareCeil(1_000L, 0L));
+    }
+}
@@ -0,0 +1,46 @@
+package com.yourorg.coinflip.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.text.DecimalFormat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class NumberFormatterTest {
+
+    @Test
+    void matchesLegacyDecimalFormat() {
+        NumberFormatter formatter = new NumberFormatter(true, 2, false);
+        DecimalFormat legacy = new DecimalFormat("#,##0.##");
+        double[] samples = {0D, 1D, 12.5D, 100D, 999.999D, 1000D, 1234.56D, 1_000_000D, 987_654_321.01D, -2500.75D, 0.05D};
+        for (double sample : samples) {
+            assertEquals(legacy.format(sample), formatter.format(sample), "value " + sample);
+        }
+    }
+
+    @Test
+    void compactsLargeAmounts() {
+        NumberFormatter formatter = new NumberFormatter(true, 2, true);
+
+        assertEquals("999", formatter.format(999D));
+        assertEquals("1.2k", formatter.format(1234D));
+        assertEquals("3.4M", formatter.format(3_400_000D));
+        assertEquals("1M", formatter.format(999_960D));
+        assertEquals("-5B", formatter.format(-5_000_000_000D));
+    }
+
+    @Test
+    void honoursGroupingAndDecimals() {
+        NumberFormatter formatter = new NumberFormatter(false, 0, false);
+
+        assertEquals("1234568", formatter.format(1_234_567.6D));
+    }
+
+    @Test
+    void reusesCachedStrings() {
+        NumberFormatter formatter = new NumberFormatter(true, 2, false);
+
+        assertSame(formatter.format(5000D), formatter.format(5000D));
+    }
+}
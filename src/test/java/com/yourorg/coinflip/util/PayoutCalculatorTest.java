@@ -9,7 +9,7 @@ class PayoutCalculatorTest {
 
     @Test
     void calculatesWinningsWithTax() {
-        CoinFlipConfig.TaxSettings tax = new CoinFlipConfig.TaxSettings(true, 10.0D, "server");
+        CoinFlipConfig.TaxSettings tax = new CoinFlipConfig.TaxSettings(true, 10.0D, "server", 60);
         PayoutCalculator.Payout payout = PayoutCalculator.calculate(1000D, tax);
         assertEquals(2000D, payout.totalPot());
         assertEquals(1800D, payout.winnings());
@@ -18,7 +18,7 @@ class PayoutCalculatorTest {
 
     @Test
     void clampsTaxToZero() {
-        CoinFlipConfig.TaxSettings tax = new CoinFlipConfig.TaxSettings(true, -5.0D, "server");
+        CoinFlipConfig.TaxSettings tax = new CoinFlipConfig.TaxSettings(true, -5.0D, "server", 60);
         PayoutCalculator.Payout payout = PayoutCalculator.calculate(250D, tax);
         assertEquals(500D, payout.totalPot());
         assertEquals(500D, payout.winnings());
@@ -27,7 +27,7 @@ class PayoutCalculatorTest {
 
     @Test
     void clampsTaxToHundred() {
-        CoinFlipConfig.TaxSettings tax = new CoinFlipConfig.TaxSettings(true, 150.0D, "server");
+        CoinFlipConfig.TaxSettings tax = new CoinFlipConfig.TaxSettings(true, 150.0D, "server", 60);
         PayoutCalculator.Payout payout = PayoutCalculator.calculate(100D, tax);
         assertEquals(200D, payout.totalPot());
         assertEquals(0D, payout.winnings());
@@ -36,11 +36,19 @@ class PayoutCalculatorTest {
 
     @Test
     void handlesTaxDisabled() {
-        CoinFlipConfig.TaxSettings tax = new CoinFlipConfig.TaxSettings(false, 50.0D, "server");
+        CoinFlipConfig.TaxSettings tax = new CoinFlipConfig.TaxSettings(false, 50.0D, "server", 60);
         PayoutCalculator.Payout payout = PayoutCalculator.calculate(500D, tax);
         assertEquals(1000D, payout.totalPot());
         assertEquals(1000D, payout.winnings());
         assertEquals(0D, payout.taxAmount());
     }
-}
 
+    @Test
+    void roundsTaxUpToWholeCents() {
+        CoinFlipConfig.TaxSettings tax = new CoinFlipConfig.TaxSettings(true, 2.5D, "server", 60);
+        PayoutCalculator.Payout payout = PayoutCalculator.calculateMinor(1_001L, tax);
+        assertEquals(2_002L, payout.totalPotMinor());
+        assertEquals(51L, payout.taxAmountMinor());
+        assertEquals(1_951L, payout.winningsMinor());
+    }
+}